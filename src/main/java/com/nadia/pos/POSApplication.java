@@ -1,11 +1,16 @@
 package com.nadia.pos;
 
+import com.nadia.pos.cache.LowStockMonitor;
 import com.nadia.pos.config.DependencyConfig;
 import com.nadia.pos.controller.*;
 import com.nadia.pos.model.Order;
 import com.nadia.pos.service.*;
+import com.nadia.pos.utils.ChangeNotificationListener;
 import com.nadia.pos.utils.SceneManager;
+import com.nadia.pos.utils.StartupTimer;
 import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
 import javafx.stage.Stage;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ButtonType;
@@ -14,26 +19,44 @@ public class POSApplication extends Application {
     private SceneManager sceneManager;
     private DependencyConfig dependencies;
 
+    // Builds the views not yet opened once the first frame is up; disable with -Dpos.prefetchViews=false
+    private static final boolean PREFETCH_VIEWS =
+            Boolean.parseBoolean(System.getProperty("pos.prefetchViews", "true"));
+    private static final String INITIAL_VIEW = "dashboard";
+
     @Override
     public void start(Stage stage) {
         try {
+            StartupTimer.mark("JavaFX started");
             dependencies = DependencyConfig.getInstance();
+            StartupTimer.mark("Dependencies ready");
             sceneManager = new SceneManager(stage);
 
-            initializeScenes();
+            MainController mainController = initializeScenes();
+            mainController.loadView(INITIAL_VIEW);
+            StartupTimer.mark("Initial view built");
 
             stage.setTitle("POS System");
             stage.setOnCloseRequest(event -> {
                 event.consume();
                 handleApplicationClose(stage);
             });
+            onFirstFrame(stage.getScene(), () -> {
+                StartupTimer.mark("First frame shown");
+                if (PREFETCH_VIEWS) {
+                    sceneManager.prefetchViews();
+                }
+            });
             stage.show();
+        } catch (ExceptionInInitializerError e) {
+            // DatabaseUtil connects and migrates the schema in its static initializer
+            showErrorAndExit(e.getCause() != null ? e.getCause() : e);
         } catch (Exception e) {
             showErrorAndExit(e);
         }
     }
 
-    private void initializeScenes() throws Exception {
+    private MainController initializeScenes() throws Exception {
         try {
             // Get services from dependencies
             CustomerService customerService = dependencies.getCustomerService();
@@ -43,71 +66,51 @@ public class POSApplication extends Application {
             SalesOrderService salesOrderService = dependencies.getSalesOrderService();
             InventoryService inventoryService = dependencies.getInventoryService();
             StockMovementService stockMovementService = dependencies.getStockMovementService();
+            ChangeNotificationListener changeListener = dependencies.getChangeNotificationListener();
+            LowStockMonitor lowStockMonitor = dependencies.getLowStockMonitor();
 
-            // Initialize controllers with required services
-            CustomerController customerController = new CustomerController(customerService);
-            EmployeeController employeeController = new EmployeeController(employeeService);
-            ProductController productController = new ProductController(productService);
             MainController mainController = new MainController(sceneManager);
-
-            // Initialize inventory-related controllers
-            InventoryController inventoryController = new InventoryController(inventoryService,productService,employeeService);
-            StockMovementController stockMovementController = new StockMovementController(
-                    stockMovementService,
-                    productService,
-                    employeeService
-            );
-
-            // Initialize order controllers
-            OrderController orderController = new OrderController(
-                    orderService,
-                    employeeService
-            );
-
-            SalesOrderController salesOrderController = new SalesOrderController(
-                    salesOrderService,
-                    customerService,
-                    employeeService,
-                    productService
-            );
-
-            DashboardController dashboardController = new DashboardController(
-                    customerService,
-                    employeeService,
-                    salesOrderService
-            );
-
-            // Load scenes
             sceneManager.loadScene("main", "/fxml/main-layout.fxml", mainController);
-            sceneManager.loadView("employees", "/fxml/employee-view.fxml", employeeController);
-            sceneManager.loadView("customers", "/fxml/customer-view.fxml", customerController);
-            sceneManager.loadView("products", "/fxml/products-view.fxml", productController);
-            sceneManager.loadView("orders", "/fxml/order-view.fxml", orderController);
-            sceneManager.loadView("sales", "/fxml/sales-order-view.fxml", salesOrderController);
-            sceneManager.loadView("inventories", "/fxml/inventory-view.fxml", inventoryController);
-            sceneManager.loadView("stockMovements", "/fxml/stock-movement-view.fxml", stockMovementController);
-            sceneManager.loadView("dashboard", "/fxml/dashboard-view.fxml", dashboardController);
 
+            // Views and their controllers are built on first navigation
+            sceneManager.registerView("dashboard", "/fxml/dashboard-view.fxml",
+                    () -> new DashboardController(customerService, employeeService, salesOrderService,
+                            lowStockMonitor));
+            sceneManager.registerView("sales", "/fxml/sales-order-view.fxml",
+                    () -> new SalesOrderController(salesOrderService, customerService, employeeService, productService));
+            sceneManager.registerView("products", "/fxml/products-view.fxml",
+                    () -> new ProductController(productService, changeListener));
+            sceneManager.registerView("customers", "/fxml/customer-view.fxml",
+                    () -> new CustomerController(customerService, changeListener));
+            sceneManager.registerView("orders", "/fxml/order-view.fxml",
+                    () -> new OrderController(orderService, employeeService));
+            sceneManager.registerView("inventories", "/fxml/inventory-view.fxml",
+                    () -> new InventoryController(inventoryService, productService, employeeService));
+            sceneManager.registerView("stockMovements", "/fxml/stock-movement-view.fxml",
+                    () -> new StockMovementController(stockMovementService, productService, employeeService));
+            sceneManager.registerView("employees", "/fxml/employee-view.fxml",
+                    () -> new EmployeeController(employeeService, changeListener));
 
-            // Switch to main scene and load views
             sceneManager.switchScene("main");
-            mainController.loadView("customers");
-            mainController.loadView("products");
-            mainController.loadView("orders");
-            mainController.loadView("sales");
-            mainController.loadView("employees");
-            mainController.loadView("inventories");
-            mainController.loadView("stockMovements");
-            mainController.loadView("dashboard");
-
-
+            StartupTimer.mark("Main scene ready");
+            return mainController;
         } catch (Exception e) {
             e.printStackTrace();
             throw new Exception("Failed to initialize scenes: " + e.getMessage(), e);
         }
     }
 
-    private void showErrorAndExit(Exception e) {
+    private void onFirstFrame(Scene scene, Runnable action) {
+        Runnable[] listener = new Runnable[1];
+        listener[0] = () -> {
+            scene.removePostLayoutPulseListener(listener[0]);
+            // Run after the pulse so the frame is on screen before anything else is queued
+            Platform.runLater(action);
+        };
+        scene.addPostLayoutPulseListener(listener[0]);
+    }
+
+    private void showErrorAndExit(Throwable e) {
         Alert alert = new Alert(Alert.AlertType.ERROR);
         alert.setTitle("Application Error");
         alert.setHeaderText("Failed to start application");
@@ -128,6 +131,7 @@ public class POSApplication extends Application {
     }
 
     public static void main(String[] args) {
+        StartupTimer.begin();
         launch();
     }
 }
\ No newline at end of file
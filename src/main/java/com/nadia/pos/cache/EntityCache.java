@@ -0,0 +1,145 @@
+package com.nadia.pos.cache;
+
+import com.nadia.pos.dao.BaseDAO;
+import com.nadia.pos.model.BaseEntity;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Size-bounded, time-expiring read-through cache in front of a DAO's id lookups. The least
+ * recently used entry is evicted once the cache is full, and entries older than the time to
+ * live are reloaded. Writers must call {@link #invalidate(Long)} after changing an entity.
+ */
+public class EntityCache<T extends BaseEntity> {
+    private final BaseDAO<T> dao;
+    private final int maxSize;
+    private final long timeToLiveNanos;
+    private final LinkedHashMap<Long, Entry<T>> entries;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    // Bumped on every invalidation so a load that raced with a write is not cached
+    private long generation;
+
+    private static final class Entry<T> {
+        private final T value;
+        private final long expiresAt;
+
+        private Entry(T value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    public EntityCache(BaseDAO<T> dao, int maxSize, Duration timeToLive) {
+        this.dao = dao;
+        this.maxSize = maxSize;
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry<T>> eldest) {
+                if (size() > EntityCache.this.maxSize) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public Optional<T> findById(Long id) {
+        long loadGeneration;
+        synchronized (this) {
+            T cached = getIfFresh(id);
+            if (cached != null) {
+                hitCount++;
+                return Optional.of(cached);
+            }
+            missCount++;
+            loadGeneration = generation;
+        }
+
+        Optional<T> loaded = dao.findById(id);
+        loaded.ifPresent(entity -> putIfCurrent(entity, loadGeneration));
+        return loaded;
+    }
+
+    public List<T> findByIds(Collection<Long> ids) {
+        List<T> result = new ArrayList<>();
+        List<Long> missing = new ArrayList<>();
+        long loadGeneration;
+        synchronized (this) {
+            for (Long id : ids) {
+                T cached = getIfFresh(id);
+                if (cached != null) {
+                    hitCount++;
+                    result.add(cached);
+                } else {
+                    missCount++;
+                    missing.add(id);
+                }
+            }
+            loadGeneration = generation;
+        }
+
+        if (!missing.isEmpty()) {
+            for (T entity : dao.findByIds(missing)) {
+                putIfCurrent(entity, loadGeneration);
+                result.add(entity);
+            }
+        }
+        return result;
+    }
+
+    public synchronized void invalidate(Long id) {
+        generation++;
+        entries.remove(id);
+    }
+
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private T getIfFresh(Long id) {
+        Entry<T> entry = entries.get(id);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt - System.nanoTime() <= 0) {
+            entries.remove(id);
+            evictionCount++;
+            return null;
+        }
+        return entry.value;
+    }
+
+    private synchronized void putIfCurrent(T entity, long loadGeneration) {
+        if (generation == loadGeneration) {
+            entries.put(entity.getId(), new Entry<>(entity, System.nanoTime() + timeToLiveNanos));
+        }
+    }
+}
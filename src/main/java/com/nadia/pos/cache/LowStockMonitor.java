@@ -0,0 +1,122 @@
+package com.nadia.pos.cache;
+
+import com.nadia.pos.dao.InventoryDAO;
+import com.nadia.pos.model.Inventory;
+import com.nadia.pos.model.LowStockEvent;
+import com.nadia.pos.model.StockLevel;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Set of products currently at or below their minimum stock, kept current by the stock update
+ * paths instead of scanning inventory. Every committed stock change is reported through
+ * {@link #stockChanged}; when it crosses the threshold (previously above the minimum and now at
+ * or below it, or the reverse) subscribers get one {@link LowStockEvent}, on the thread that
+ * made the change. Changes made on other terminals arrive as inventory change notifications
+ * through {@link #inventoryChanged(Long)}, and {@link #load()} resynchronizes after notifications
+ * were missed.
+ */
+public class LowStockMonitor {
+    private final InventoryDAO inventoryDAO;
+    private final Set<Long> lowProductIds = ConcurrentHashMap.newKeySet();
+    private final List<Consumer<LowStockEvent>> subscribers = new CopyOnWriteArrayList<>();
+
+    public LowStockMonitor(InventoryDAO inventoryDAO) {
+        this.inventoryDAO = inventoryDAO;
+    }
+
+    /**
+     * Seeds the set from the partial low-stock index, replacing anything tracked so far. No events
+     * are published for the products found.
+     */
+    public synchronized void load() throws SQLException {
+        Set<Long> current = new HashSet<>();
+        for (Inventory inventory : inventoryDAO.findLowStock()) {
+            current.add(inventory.getProduct().getId());
+        }
+        lowProductIds.retainAll(current);
+        lowProductIds.addAll(current);
+    }
+
+    /**
+     * Re-reads one inventory row after it changed elsewhere. The quantity before that change is
+     * not known here, so an event it triggers reports the current quantity as the previous one.
+     */
+    public void inventoryChanged(Long inventoryId) {
+        Optional<Inventory> inventory = inventoryDAO.findById(inventoryId);
+        if (inventory.isPresent()) {
+            StockLevel level = StockLevel.of(inventory.get());
+            stockChanged(level.getQuantity(), level);
+        } else {
+            // A deleted row no longer says which product it held
+            try {
+                load();
+            } catch (SQLException e) {
+                throw new RuntimeException("Error reloading low stock products", e);
+            }
+        }
+    }
+
+    public void subscribe(Consumer<LowStockEvent> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    public void unsubscribe(Consumer<LowStockEvent> subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    /**
+     * Records a committed stock change. Call only after the transaction has committed, so
+     * subscribers never hear about a change that was rolled back. Every subscriber is called even
+     * if an earlier one fails; the first failure is then rethrown.
+     */
+    public void stockChanged(int previousQuantity, StockLevel level) {
+        Long productId = level.getProductId();
+        // add/remove report whether membership changed, so concurrent updates publish one event
+        boolean crossed = level.isLow() ? lowProductIds.add(productId) : lowProductIds.remove(productId);
+        if (!crossed) {
+            return;
+        }
+        LowStockEvent event = new LowStockEvent(productId, previousQuantity, level.getQuantity(),
+                level.getMinimumStock(), level.isLow());
+        RuntimeException failure = null;
+        for (Consumer<LowStockEvent> subscriber : subscribers) {
+            try {
+                subscriber.accept(event);
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = new RuntimeException("Error notifying low stock subscribers", e);
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    public boolean isLow(Long productId) {
+        return lowProductIds.contains(productId);
+    }
+
+    public boolean hasLowStock() {
+        return !lowProductIds.isEmpty();
+    }
+
+    public int getLowStockCount() {
+        return lowProductIds.size();
+    }
+
+    public Set<Long> getLowStockProductIds() {
+        return Collections.unmodifiableSet(new HashSet<>(lowProductIds));
+    }
+}
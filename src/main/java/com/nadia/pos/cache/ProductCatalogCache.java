@@ -0,0 +1,184 @@
+package com.nadia.pos.cache;
+
+import com.nadia.pos.dao.ProductDAO;
+import com.nadia.pos.model.Product;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-through cache of the product catalog, indexed by id, code and barcode with one bucket per
+ * category, so checkout lookups do not go to the database. Names are trigram-indexed for type-ahead
+ * search. Products are held without images.
+ * Writers must call {@link #refresh(Long)} (or {@link #put(Product)}) after changing a product.
+ * The cache keeps its own copies and hands out copies, so callers are free to modify what they
+ * get without corrupting the shared catalog.
+ */
+public class ProductCatalogCache {
+    private final ProductDAO productDAO;
+    private final Map<Long, Product> byId = new ConcurrentHashMap<>();
+    private final Map<String, Product> byCode = new ConcurrentHashMap<>();
+    private final Map<String, Product> byBarcode = new ConcurrentHashMap<>();
+    private final Map<String, Map<Long, Product>> byCategory = new ConcurrentHashMap<>();
+    private final TrigramIndex<Product> nameIndex = new TrigramIndex<>(Product::getName);
+    private volatile boolean loaded;
+
+    public ProductCatalogCache(ProductDAO productDAO) {
+        this.productDAO = productDAO;
+    }
+
+    /**
+     * Bulk-loads the whole catalog in one query, replacing anything cached so far.
+     */
+    public synchronized void load() {
+        List<Product> products = productDAO.findAll();
+        clear();
+        for (Product product : products) {
+            index(product);
+        }
+        loaded = true;
+    }
+
+    public Optional<Product> findById(Long id) {
+        Product product = byId.get(id);
+        if (product != null) {
+            return Optional.of(new Product(product));
+        }
+        return productDAO.findById(id).map(this::put);
+    }
+
+    public List<Product> findByIds(Collection<Long> ids) {
+        List<Product> products = new ArrayList<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            Product product = byId.get(id);
+            if (product != null) {
+                products.add(new Product(product));
+            } else {
+                missing.add(id);
+            }
+        }
+        for (Product product : productDAO.findByIds(missing)) {
+            products.add(put(product));
+        }
+        return products;
+    }
+
+    public Optional<Product> findByCode(String code) {
+        Product product = byCode.get(code);
+        if (product != null) {
+            return Optional.of(new Product(product));
+        }
+        return productDAO.findByCode(code).map(this::put);
+    }
+
+    public Optional<Product> findByBarcode(String barcode) {
+        Product product = byBarcode.get(barcode);
+        if (product != null) {
+            return Optional.of(new Product(product));
+        }
+        return productDAO.findByBarcode(barcode).map(this::put);
+    }
+
+    public List<Product> findByCategory(String category) {
+        if (!loaded) {
+            return productDAO.findByCategory(category);
+        }
+        Map<Long, Product> bucket = byCategory.get(category);
+        return bucket == null ? new ArrayList<>() : copies(bucket.values());
+    }
+
+    /**
+     * Case-insensitive substring match on the product name, same as the former ILIKE query.
+     */
+    public List<Product> searchByName(String term) {
+        if (!loaded) {
+            load();
+        }
+        return copies(nameIndex.search(term));
+    }
+
+    public List<Product> findAll() {
+        if (!loaded) {
+            load();
+        }
+        return copies(byId.values());
+    }
+
+    /**
+     * Caches a copy of the product; the caller's instance stays its own.
+     */
+    public synchronized Product put(Product product) {
+        remove(product.getId());
+        index(new Product(product));
+        return product;
+    }
+
+    /**
+     * Reloads one product after it was written here or on another terminal, dropping it if it no
+     * longer exists. Re-reading instead of just evicting keeps the full catalog listing complete.
+     */
+    public void refresh(Long productId) {
+        Optional<Product> current = productDAO.findById(productId);
+        synchronized (this) {
+            remove(productId);
+            current.ifPresent(this::index);
+        }
+    }
+
+    private List<Product> copies(Collection<Product> products) {
+        List<Product> copies = new ArrayList<>(products.size());
+        for (Product product : products) {
+            copies.add(new Product(product));
+        }
+        return copies;
+    }
+
+    public synchronized void clear() {
+        byId.clear();
+        byCode.clear();
+        byBarcode.clear();
+        byCategory.clear();
+        nameIndex.clear();
+        loaded = false;
+    }
+
+    private void index(Product product) {
+        byId.put(product.getId(), product);
+        nameIndex.add(product);
+        if (product.getCode() != null) {
+            byCode.put(product.getCode(), product);
+        }
+        if (product.getBarcode() != null && !product.getBarcode().isEmpty()) {
+            byBarcode.put(product.getBarcode(), product);
+        }
+        if (product.getCategory() != null) {
+            byCategory.computeIfAbsent(product.getCategory(), category -> new ConcurrentHashMap<>())
+                    .put(product.getId(), product);
+        }
+    }
+
+    private void remove(Long productId) {
+        Product product = byId.remove(productId);
+        if (product == null) {
+            return;
+        }
+        nameIndex.remove(productId);
+        if (product.getCode() != null) {
+            byCode.remove(product.getCode(), product);
+        }
+        if (product.getBarcode() != null) {
+            byBarcode.remove(product.getBarcode(), product);
+        }
+        if (product.getCategory() != null) {
+            Map<Long, Product> bucket = byCategory.get(product.getCategory());
+            if (bucket != null) {
+                bucket.remove(productId);
+            }
+        }
+    }
+}
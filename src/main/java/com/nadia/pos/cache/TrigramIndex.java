@@ -0,0 +1,137 @@
+package com.nadia.pos.cache;
+
+import com.nadia.pos.model.BaseEntity;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * In-memory trigram index answering case-insensitive substring searches (the equivalent of
+ * {@code ILIKE '%term%'}) without scanning every entry. Each entity gets an int slot, and every
+ * distinct three-character sequence of its text maps to the slots containing it. A search only
+ * verifies the candidates of the query's rarest trigram. Removed slots are skipped and reclaimed
+ * once they outnumber live ones.
+ */
+public class TrigramIndex<T extends BaseEntity> {
+    private static final int GRAM_LENGTH = 3;
+
+    private final Function<T, String> textOf;
+    private final List<T> slots = new ArrayList<>();
+    private final List<String> slotTexts = new ArrayList<>();
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private int deadSlots;
+
+    private static final class Postings {
+        private int[] slots = new int[4];
+        private int size;
+
+        private void add(int slot) {
+            if (size == slots.length) {
+                int[] grown = new int[size * 2];
+                System.arraycopy(slots, 0, grown, 0, size);
+                slots = grown;
+            }
+            slots[size++] = slot;
+        }
+    }
+
+    public TrigramIndex(Function<T, String> textOf) {
+        this.textOf = textOf;
+    }
+
+    public synchronized void add(T entity) {
+        remove(entity.getId());
+        String text = normalize(textOf.apply(entity));
+        int slot = slots.size();
+        slots.add(entity);
+        slotTexts.add(text);
+        slotById.put(entity.getId(), slot);
+
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        for (String gram : grams) {
+            postings.computeIfAbsent(gram, key -> new Postings()).add(slot);
+        }
+    }
+
+    public synchronized void remove(Long id) {
+        Integer slot = slotById.remove(id);
+        if (slot == null) {
+            return;
+        }
+        slots.set(slot, null);
+        slotTexts.set(slot, null);
+        deadSlots++;
+        if (deadSlots > slotById.size()) {
+            compact();
+        }
+    }
+
+    public synchronized void clear() {
+        slots.clear();
+        slotTexts.clear();
+        slotById.clear();
+        postings.clear();
+        deadSlots = 0;
+    }
+
+    public synchronized List<T> search(String term) {
+        String query = normalize(term);
+        List<T> matches = new ArrayList<>();
+        if (query.length() < GRAM_LENGTH) {
+            // Too short to have a trigram; shorter terms match most entries anyway
+            for (int slot = 0; slot < slots.size(); slot++) {
+                addIfMatches(slot, query, matches);
+            }
+            return matches;
+        }
+
+        Postings rarest = null;
+        for (int i = 0; i + GRAM_LENGTH <= query.length(); i++) {
+            Postings candidates = postings.get(query.substring(i, i + GRAM_LENGTH));
+            if (candidates == null) {
+                return matches;
+            }
+            if (rarest == null || candidates.size < rarest.size) {
+                rarest = candidates;
+            }
+        }
+        for (int i = 0; i < rarest.size; i++) {
+            addIfMatches(rarest.slots[i], query, matches);
+        }
+        return matches;
+    }
+
+    private void addIfMatches(int slot, String query, List<T> matches) {
+        T entity = slots.get(slot);
+        if (entity != null && slotTexts.get(slot).contains(query)) {
+            matches.add(entity);
+        }
+    }
+
+    private void compact() {
+        List<T> live = new ArrayList<>(slotById.size());
+        for (T entity : slots) {
+            if (entity != null) {
+                live.add(entity);
+            }
+        }
+        clear();
+        for (T entity : live) {
+            add(entity);
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+}
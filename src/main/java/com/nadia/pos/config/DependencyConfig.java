@@ -1,13 +1,20 @@
 package com.nadia.pos.config;
 
+import com.nadia.pos.cache.EntityCache;
+import com.nadia.pos.cache.LowStockMonitor;
+import com.nadia.pos.cache.ProductCatalogCache;
 import com.nadia.pos.dao.*;
 import com.nadia.pos.dao.impl.*;
 import com.nadia.pos.service.*;
 import com.nadia.pos.service.impl.*;
+import com.nadia.pos.model.Customer;
+import com.nadia.pos.model.Employee;
 import com.nadia.pos.model.Order;
 import com.nadia.pos.model.OrderItem;
+import com.nadia.pos.utils.ChangeNotificationListener;
 
 import java.sql.SQLException;
+import java.time.Duration;
 
 public class DependencyConfig {
     private static DependencyConfig instance;
@@ -19,6 +26,9 @@ public class DependencyConfig {
     private final EmployeeService employeeService;
     private final InventoryService inventoryService;
     private final StockMovementService stockMovementService;
+    private final PurchaseOrderService purchaseOrderService;
+    private final ChangeNotificationListener changeNotificationListener;
+    private final LowStockMonitor lowStockMonitor;
 
     private DependencyConfig() throws SQLException {
         CustomerDAO customerDAO = new CustomerDAOImpl();
@@ -29,27 +39,65 @@ public class DependencyConfig {
         InventoryDAO inventoryDAO = new InventoryDAOImpl();
         StockMovementDAO stockMovementDAO = new StockMovementDAOImpl();
 
-        this.employeeService = new EmployeeServiceImpl(employeeDAO);
-        this.productService = new ProductServiceImpl(productDAO);
-        this.customerService = new CustomerServiceImpl(customerDAO);
+        EntityCache<Employee> employeeCache = new EntityCache<>(employeeDAO, 500, Duration.ofMinutes(10));
+        EntityCache<Customer> customerCache = new EntityCache<>(customerDAO, 5000, Duration.ofMinutes(10));
+
+        this.employeeService = new EmployeeServiceImpl(employeeDAO, employeeCache);
+        // Warm the catalog once so checkout lookups never wait on the database
+        ProductCatalogCache productCatalogCache = new ProductCatalogCache(productDAO);
+        productCatalogCache.load();
+        this.productService = new ProductServiceImpl(productDAO, productCatalogCache);
+
+        // Writes from other terminals arrive as NOTIFY and evict the local copies
+        this.changeNotificationListener = new ChangeNotificationListener();
+        changeNotificationListener.subscribe("products", productCatalogCache::refresh, productCatalogCache::load);
+        changeNotificationListener.subscribe("customers", customerCache::invalidate, customerCache::clear);
+        changeNotificationListener.subscribe("employees", employeeCache::invalidate, employeeCache::clear);
+        this.customerService = new CustomerServiceImpl(customerDAO, customerCache);
+
+        // Seeded from the low-stock index; the stock update paths and notifications keep it current
+        this.lowStockMonitor = new LowStockMonitor(inventoryDAO);
+        lowStockMonitor.load();
+        changeNotificationListener.subscribe("inventory", lowStockMonitor::inventoryChanged, () -> {
+            try {
+                lowStockMonitor.load();
+            } catch (SQLException e) {
+                throw new RuntimeException("Error reloading low stock products", e);
+            }
+        });
+        changeNotificationListener.start();
 
-        this.inventoryService = new InventoryServiceImpl(inventoryDAO, productDAO,stockMovementDAO);
+        this.inventoryService = new InventoryServiceImpl(inventoryDAO, productDAO, stockMovementDAO, employeeCache,
+                lowStockMonitor);
 
         SalesOrderDAO salesOrderDAO = new SalesOrderDAOImpl(customerService, employeeService);
         SalesOrderItemDAO salesOrderItemDAO = new SalesOrderItemDAOImpl(productService);
+        SalesSummaryDAO salesSummaryDAO = new SalesSummaryDAOImpl();
 
         this.orderService = new AbstractOrderServiceImpl<Order>(
                 orderDAO,
                 orderItemDAO,
-                employeeDAO,
+                employeeCache,
                 productDAO
         ) {};
-        this.salesOrderService = new SalesOrderServiceImpl(salesOrderDAO, salesOrderItemDAO);
+        this.salesOrderService = new SalesOrderServiceImpl(salesOrderDAO, salesOrderItemDAO, salesSummaryDAO);
+        StockMovementJournal stockMovementJournal = new StockMovementJournal(stockMovementDAO, inventoryDAO,
+                lowStockMonitor);
         this.stockMovementService = new StockMovementServiceImpl(
                 stockMovementDAO,
                 inventoryDAO,
                 productDAO,
-                employeeDAO
+                employeeCache,
+                stockMovementJournal,
+                lowStockMonitor
+        );
+        this.purchaseOrderService = new PurchaseOrderServiceImpl(
+                new PurchaseOrderDAOImpl(),
+                new PurchaseOrderItemDAOImpl(),
+                inventoryDAO,
+                stockMovementDAO,
+                employeeCache,
+                lowStockMonitor
         );
     }
 
@@ -94,4 +142,16 @@ public class DependencyConfig {
     public StockMovementService getStockMovementService() {
         return stockMovementService;
     }
+
+    public PurchaseOrderService getPurchaseOrderService() {
+        return purchaseOrderService;
+    }
+
+    public LowStockMonitor getLowStockMonitor() {
+        return lowStockMonitor;
+    }
+
+    public ChangeNotificationListener getChangeNotificationListener() {
+        return changeNotificationListener;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,126 @@
+package com.nadia.pos.controller;
+
+import javafx.animation.PauseTransition;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.concurrent.Task;
+import javafx.scene.Node;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.TableView;
+import javafx.util.Duration;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs service calls for one area of a view on a shared background pool and hands the result
+ * back on the JavaFX Application Thread, so a slow query never freezes the UI. Starting a new
+ * load cancels the one still in flight, so an older search or refresh can never overwrite the
+ * result of a newer one. Must be used from the FX thread.
+ */
+public class BackgroundLoader {
+    private static final int POOL_SIZE = 4;
+    private static final AtomicInteger threadCount = new AtomicInteger();
+    private static final ExecutorService executor = Executors.newFixedThreadPool(POOL_SIZE, runnable -> {
+        Thread thread = new Thread(runnable, "ui-loader-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ReadOnlyBooleanWrapper loading = new ReadOnlyBooleanWrapper(false);
+    private Task<?> current;
+    private PauseTransition pendingDelay;
+
+    public ReadOnlyBooleanProperty loadingProperty() {
+        return loading.getReadOnlyProperty();
+    }
+
+    public boolean isLoading() {
+        return loading.get();
+    }
+
+    /**
+     * Shows a progress indicator as the table's placeholder while a load is running.
+     */
+    public BackgroundLoader showProgressIn(TableView<?> table) {
+        ProgressIndicator indicator = new ProgressIndicator();
+        indicator.setMaxSize(40, 40);
+        Node[] placeholder = {table.getPlaceholder()};
+        loading.addListener((observable, wasLoading, isLoading) -> {
+            if (isLoading) {
+                placeholder[0] = table.getPlaceholder();
+                table.setPlaceholder(indicator);
+            } else {
+                table.setPlaceholder(placeholder[0]);
+            }
+        });
+        return this;
+    }
+
+    public <T> void load(Callable<T> work, Consumer<T> onSuccess, Consumer<Exception> onError) {
+        cancel();
+
+        Task<T> task = new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                return work.call();
+            }
+        };
+        // Handlers run on the FX thread; a cancelled task fires neither of them
+        task.setOnSucceeded(event -> {
+            finish(task);
+            onSuccess.accept(task.getValue());
+        });
+        task.setOnFailed(event -> {
+            finish(task);
+            Throwable error = task.getException();
+            onError.accept(error instanceof Exception exception ? exception : new RuntimeException(error));
+        });
+
+        current = task;
+        loading.set(true);
+        executor.execute(task);
+    }
+
+    /**
+     * Starts the load once no further call has arrived for the given delay, for search-as-you-type
+     * fields: a burst of keystrokes runs one query for the final text instead of one per key. The
+     * load in flight is discarded straight away since its result is already stale.
+     */
+    public <T> void loadAfter(Duration delay, Callable<T> work, Consumer<T> onSuccess, Consumer<Exception> onError) {
+        cancel();
+        pendingDelay = new PauseTransition(delay);
+        pendingDelay.setOnFinished(event -> {
+            pendingDelay = null;
+            load(work, onSuccess, onError);
+        });
+        pendingDelay.play();
+    }
+
+    /**
+     * Discards the load in flight, if any, and any load still waiting out its delay. The query
+     * itself is left to finish on the pool rather than interrupted, since interrupting a thread
+     * inside JDBC can poison its connection.
+     */
+    public void cancel() {
+        if (pendingDelay != null) {
+            pendingDelay.stop();
+            pendingDelay = null;
+        }
+        if (current != null) {
+            current.cancel(false);
+            current = null;
+            loading.set(false);
+        }
+    }
+
+    private void finish(Task<?> task) {
+        if (current == task) {
+            current = null;
+            loading.set(false);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.nadia.pos.model.Customer;
 import com.nadia.pos.service.CustomerService;
 import com.nadia.pos.enums.CustomerType;
 import com.nadia.pos.exceptions.ValidationException;
+import com.nadia.pos.utils.ChangeNotificationListener;
 import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
@@ -11,9 +12,11 @@ import javafx.geometry.Pos;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.HBox;
+import javafx.util.Duration;
 
 import java.math.BigDecimal;
 import java.net.URL;
+import java.util.List;
 import java.util.ResourceBundle;
 
 public class CustomerController implements Initializable {
@@ -36,16 +39,22 @@ public class CustomerController implements Initializable {
     @FXML private Button saveButton;
     @FXML private Button clearButton;
 
+    private static final Duration SEARCH_DELAY = Duration.millis(250);
+
     private final CustomerService customerService;
     private Customer selectedCustomer;
+    private final BackgroundLoader customerLoader = new BackgroundLoader();
+    private final EntityTableModel<Customer> customers = new EntityTableModel<>();
 
-    public CustomerController(CustomerService customerService) {
+    public CustomerController(CustomerService customerService, ChangeNotificationListener changeListener) {
         this.customerService = customerService;
+        customers.followChanges(changeListener, "customers", customerService::findCustomerById, this::loadCustomers);
     }
 
     @Override
     public void initialize(URL url, ResourceBundle rb) {
         setupTable();
+        customerLoader.showProgressIn(customerTable);
         setupControls();
         setupValidation();
         loadCustomers();
@@ -53,6 +62,7 @@ public class CustomerController implements Initializable {
 
     private void setupTable() {
         setupTableColumns();
+        customerTable.setItems(customers.getRows());
         setupActionColumn();
         setupTableSelection();
     }
@@ -93,11 +103,11 @@ public class CustomerController implements Initializable {
 
     private void setupControls() {
         typeComboBox.setItems(FXCollections.observableArrayList(CustomerType.values()));
-        searchField.textProperty().addListener((obs, old, newValue) ->
-                customerTable.setItems(FXCollections.observableArrayList(
-                        customerService.searchCustomers(newValue.trim())
-                ))
-        );
+        searchField.textProperty().addListener((obs, old, newValue) -> {
+            String searchTerm = newValue.trim();
+            customerLoader.loadAfter(SEARCH_DELAY, () -> customerService.searchCustomers(searchTerm),
+                    this::showCustomers, this::showError);
+        });
         refreshButton.setOnAction(e -> loadCustomers());
     }
 
@@ -126,7 +136,7 @@ public class CustomerController implements Initializable {
             }
 
             clearFields();
-            loadCustomers();
+            customers.upsert(customer);
             showSuccess("Customer " + (selectedCustomer == null ? "created" : "updated"));
 
         } catch (Exception e) {
@@ -154,7 +164,7 @@ public class CustomerController implements Initializable {
                 .ifPresent(r -> {
                     try {
                         customerService.deleteCustomer(customer);
-                        loadCustomers();
+                        customers.remove(customer.getId());
                         clearFields();
                         showSuccess("Customer deleted");
                     } catch (Exception e) {
@@ -193,9 +203,11 @@ public class CustomerController implements Initializable {
     }
 
     private void loadCustomers() {
-        customerTable.setItems(FXCollections.observableArrayList(
-                customerService.searchCustomers("")
-        ));
+        customerLoader.load(() -> customerService.searchCustomers(""), this::showCustomers, this::showError);
+    }
+
+    private void showCustomers(List<Customer> results) {
+        customers.replaceAll(results);
     }
 
     private void showSuccess(String message) {
@@ -1,110 +1,135 @@
 package com.nadia.pos.controller;
 
+import com.nadia.pos.cache.LowStockMonitor;
 import com.nadia.pos.model.*;
 import com.nadia.pos.service.*;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.chart.BarChart;
 import javafx.scene.chart.LineChart;
 import javafx.scene.chart.XYChart;
+import javafx.scene.control.Alert;
 import javafx.scene.control.Label;
 import java.net.URL;
 import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.util.ResourceBundle;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.ResourceBundle;
 
 public class DashboardController implements Initializable {
+    private static final DateTimeFormatter MONTH_LABEL = DateTimeFormatter.ofPattern("MMM yyyy");
+
     @FXML private Label totalCustomersLabel;
     @FXML private Label totalEmployeesLabel;
     @FXML private Label totalSalesLabel;
     @FXML private Label averageOrderValueLabel;
+    @FXML private Label lowStockLabel;
     @FXML private BarChart<String, Number> salesChart;
     @FXML private LineChart<String, Number> orderTrendsChart;
 
     private final CustomerService customerService;
     private final EmployeeService employeeService;
     private final SalesOrderService salesOrderService;
+    private final LowStockMonitor lowStockMonitor;
+    private final BackgroundLoader statisticsLoader = new BackgroundLoader();
+    private final BackgroundLoader chartLoader = new BackgroundLoader();
 
     public DashboardController(CustomerService customerService,
                                EmployeeService employeeService,
-                               SalesOrderService salesOrderService) {
+                               SalesOrderService salesOrderService,
+                               LowStockMonitor lowStockMonitor) {
         this.customerService = customerService;
         this.employeeService = employeeService;
         this.salesOrderService = salesOrderService;
+        this.lowStockMonitor = lowStockMonitor;
     }
 
     @Override
     public void initialize(URL url, ResourceBundle rb) {
         loadStatistics();
-        setupSalesChart();
-        setupOrderTrendsChart();
+        setupLowStock();
+        setupSalesCharts();
     }
 
     private void loadStatistics() {
         // Load key metrics
-        int customerCount = customerService.searchCustomers("").size();
-        int employeeCount = employeeService.findAllEmployees().size();
-        List<SalesOrder> orders = salesOrderService.findAll();
-
-        BigDecimal totalSales = orders.stream()
-                .map(SalesOrder::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal avgOrderValue = orders.isEmpty() ? BigDecimal.ZERO :
-                totalSales.divide(BigDecimal.valueOf(orders.size()), 2, BigDecimal.ROUND_HALF_UP);
+        statisticsLoader.load(() -> new Statistics(
+                customerService.searchCustomers("").size(),
+                employeeService.findAllEmployees().size(),
+                salesOrderService.getSalesTotals()
+        ), this::showStatistics, this::showLoadError);
+    }
 
+    private void showStatistics(Statistics statistics) {
         // Update labels
-        totalCustomersLabel.setText(String.valueOf(customerCount));
-        totalEmployeesLabel.setText(String.valueOf(employeeCount));
-        totalSalesLabel.setText(totalSales.toString());
-        averageOrderValueLabel.setText(avgOrderValue.toString());
+        totalCustomersLabel.setText(String.valueOf(statistics.customerCount));
+        totalEmployeesLabel.setText(String.valueOf(statistics.employeeCount));
+        totalSalesLabel.setText(statistics.salesTotals.getTotalAmount().toString());
+        averageOrderValueLabel.setText(statistics.salesTotals.getAverageOrderValue().toString());
     }
 
-    private void setupSalesChart() {
-        XYChart.Series<String, Number> series = new XYChart.Series<>();
-        series.setName("Monthly Sales");
-
-        // Add last 6 months of sales data
-        LocalDate now = LocalDate.now();
-        for (int i = 5; i >= 0; i--) {
-            LocalDate month = now.minusMonths(i);
-            BigDecimal monthSales = calculateMonthlySales(month);
-            series.getData().add(new XYChart.Data<>(
-                    month.getMonth().toString(),
-                    monthSales));
-        }
+    private void setupLowStock() {
+        // The count is held in memory; events arrive on whichever thread changed the stock
+        showLowStockCount();
+        lowStockMonitor.subscribe(event -> Platform.runLater(this::showLowStockCount));
+    }
 
-        salesChart.getData().add(series);
+    private void showLowStockCount() {
+        lowStockLabel.setText(String.valueOf(lowStockMonitor.getLowStockCount()));
     }
 
-    private void setupOrderTrendsChart() {
-        XYChart.Series<String, Number> series = new XYChart.Series<>();
-        series.setName("Order Count");
-
-        // Add last 6 months of order counts
-        LocalDate now = LocalDate.now();
-        for (int i = 5; i >= 0; i--) {
-            LocalDate month = now.minusMonths(i);
-            long orderCount = calculateMonthlyOrderCount(month);
-            series.getData().add(new XYChart.Data<>(
-                    month.getMonth().toString(),
-                    orderCount));
+    private void setupSalesCharts() {
+        // Last 6 months, including the current one, from a single rollup query
+        YearMonth currentMonth = YearMonth.now();
+        YearMonth firstMonth = currentMonth.minusMonths(5);
+        chartLoader.load(() -> salesOrderService.getMonthlySales(firstMonth, currentMonth),
+                monthlyTotals -> showSalesCharts(firstMonth, currentMonth, monthlyTotals), this::showLoadError);
+    }
+
+    private void showSalesCharts(YearMonth firstMonth, YearMonth currentMonth, List<SalesPeriodTotal> monthlyTotals) {
+        XYChart.Series<String, Number> salesSeries = new XYChart.Series<>();
+        salesSeries.setName("Monthly Sales");
+        XYChart.Series<String, Number> orderSeries = new XYChart.Series<>();
+        orderSeries.setName("Order Count");
+
+        Map<YearMonth, SalesPeriodTotal> totalsByMonth = new HashMap<>();
+        for (SalesPeriodTotal total : monthlyTotals) {
+            totalsByMonth.put(YearMonth.from(total.getPeriod()), total);
         }
 
-        orderTrendsChart.getData().add(series);
+        for (YearMonth month = firstMonth; !month.isAfter(currentMonth); month = month.plusMonths(1)) {
+            SalesPeriodTotal total = totalsByMonth.get(month);
+            String label = month.format(MONTH_LABEL);
+            salesSeries.getData().add(new XYChart.Data<>(label,
+                    total == null ? BigDecimal.ZERO : total.getTotalAmount()));
+            orderSeries.getData().add(new XYChart.Data<>(label,
+                    total == null ? 0L : total.getOrderCount()));
+        }
+
+        salesChart.getData().add(salesSeries);
+        orderTrendsChart.getData().add(orderSeries);
     }
 
-    private BigDecimal calculateMonthlySales(LocalDate month) {
-        return salesOrderService.findAll().stream()
-                .filter(order -> order.getOrderDate().getMonth() == month.getMonth())
-                .map(SalesOrder::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private void showLoadError(Exception e) {
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle("Error");
+        alert.setContentText("Failed to load dashboard data: " + e.getMessage());
+        alert.show();
     }
 
-    private long calculateMonthlyOrderCount(LocalDate month) {
-        return salesOrderService.findAll().stream()
-                .filter(order -> order.getOrderDate().getMonth() == month.getMonth())
-                .count();
+    private static final class Statistics {
+        private final int customerCount;
+        private final int employeeCount;
+        private final SalesPeriodTotal salesTotals;
+
+        private Statistics(int customerCount, int employeeCount, SalesPeriodTotal salesTotals) {
+            this.customerCount = customerCount;
+            this.employeeCount = employeeCount;
+            this.salesTotals = salesTotals;
+        }
     }
-}
\ No newline at end of file
+}
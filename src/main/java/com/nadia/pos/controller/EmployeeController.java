@@ -3,14 +3,13 @@ package com.nadia.pos.controller;
 import com.nadia.pos.model.Employee;
 import com.nadia.pos.service.EmployeeService;
 import com.nadia.pos.enums.EmployeeStatus;
+import com.nadia.pos.utils.ChangeNotificationListener;
 import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 
 import java.time.LocalDate;
-import java.util.List;
 
 public class EmployeeController {
     @FXML private TableView<Employee> employeeTable;
@@ -38,16 +37,19 @@ public class EmployeeController {
     @FXML private ComboBox<Employee> supervisorCombo;
 
     private final EmployeeService employeeService;
-    private final ObservableList<Employee> employees = FXCollections.observableArrayList();
+    private final EntityTableModel<Employee> employees = new EntityTableModel<>();
     private Employee currentEmployee;
+    private final BackgroundLoader employeeLoader = new BackgroundLoader();
 
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, ChangeNotificationListener changeListener) {
         this.employeeService = employeeService;
+        employees.followChanges(changeListener, "employees", employeeService::findEmployeeById, this::loadEmployees);
     }
 
     @FXML
     public void initialize() {
         setupColumns();
+        employeeLoader.showProgressIn(employeeTable);
         setupComboBoxes();
         loadEmployees();
         setupListeners();
@@ -78,12 +80,8 @@ public class EmployeeController {
 
     private void setupComboBoxes() {
         statusCombo.setItems(FXCollections.observableArrayList(EmployeeStatus.values()));
-        refreshSupervisorComboBox();
-    }
-
-    private void refreshSupervisorComboBox() {
-        List<Employee> supervisors = employeeService.findAllEmployees();
-        supervisorCombo.setItems(FXCollections.observableArrayList(supervisors));
+        // Supervisor choices are the same rows as the table
+        supervisorCombo.setItems(employees.getRows());
         setupComboBoxDisplay(supervisorCombo);
     }
 
@@ -97,13 +95,9 @@ public class EmployeeController {
     }
 
     private void loadEmployees() {
-        try {
-            List<Employee> employeeList = employeeService.findAllEmployees();
-            employees.setAll(employeeList);
-            employeeTable.setItems(employees);
-        } catch (Exception e) {
-            showAlert("Error", "Failed to load employees: " + e.getMessage(), Alert.AlertType.ERROR);
-        }
+        employeeTable.setItems(employees.getRows());
+        employeeLoader.load(employeeService::findAllEmployees, employees::replaceAll,
+                e -> showAlert("Error", "Failed to load employees: " + e.getMessage(), Alert.AlertType.ERROR));
     }
 
     private void loadEmployeeDetails(Employee employee) {
@@ -134,14 +128,15 @@ public class EmployeeController {
         try {
             updateCurrentEmployee();
 
+            Employee saved;
             if (currentEmployee.getId() == null) {
-                employeeService.createEmployee(currentEmployee);
+                saved = employeeService.createEmployee(currentEmployee);
             } else {
-                employeeService.updateEmployee(currentEmployee);
+                saved = employeeService.updateEmployee(currentEmployee);
             }
 
             showAlert("Success", "Employee saved successfully", Alert.AlertType.INFORMATION);
-            loadEmployees();
+            employees.upsert(saved);
             handleNew();
         } catch (Exception e) {
             showAlert("Error", e.getMessage(), Alert.AlertType.ERROR);
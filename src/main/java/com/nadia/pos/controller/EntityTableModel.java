@@ -0,0 +1,158 @@
+package com.nadia.pos.controller;
+
+import com.nadia.pos.model.BaseEntity;
+import com.nadia.pos.utils.ChangeNotificationListener;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Rows of a TableView keyed by entity id, changed by applying differences instead of replacing
+ * the whole list, so the table only re-renders the rows that actually changed and keeps its
+ * selection and scroll position. The row list handed to the table is read-only; every change
+ * goes through this model. Must be used from the FX thread.
+ */
+public class EntityTableModel<T extends BaseEntity> {
+    private final ObservableList<T> rows = FXCollections.observableArrayList();
+    private final ObservableList<T> readOnlyRows = FXCollections.unmodifiableObservableList(rows);
+    private final Map<Long, T> rowsById = new HashMap<>();
+
+    public ObservableList<T> getRows() {
+        return readOnlyRows;
+    }
+
+    public boolean contains(Long id) {
+        return rowsById.containsKey(id);
+    }
+
+    /**
+     * Makes the rows match the given list: rows no longer present are removed, changed rows are
+     * replaced in place and new rows are inserted at their position in the list.
+     */
+    public void replaceAll(List<T> fresh) {
+        Map<Long, T> freshById = new LinkedHashMap<>();
+        for (T row : fresh) {
+            freshById.put(row.getId(), row);
+        }
+
+        List<T> removed = new ArrayList<>();
+        for (T row : rows) {
+            if (!freshById.containsKey(row.getId())) {
+                removed.add(row);
+            }
+        }
+        if (!removed.isEmpty()) {
+            rows.removeAll(removed);
+            for (T row : removed) {
+                rowsById.remove(row.getId());
+            }
+        }
+
+        for (int i = 0; i < rows.size(); i++) {
+            T current = rows.get(i);
+            T replacement = freshById.get(current.getId());
+            if (isChanged(current, replacement)) {
+                rows.set(i, replacement);
+                rowsById.put(replacement.getId(), replacement);
+            }
+        }
+
+        int position = 0;
+        for (T row : freshById.values()) {
+            if (!rowsById.containsKey(row.getId())) {
+                rows.add(Math.min(position, rows.size()), row);
+                rowsById.put(row.getId(), row);
+            }
+            position++;
+        }
+    }
+
+    /**
+     * Appends rows not shown yet, such as the next page of a paged table, skipping any that are
+     * already present.
+     */
+    public void addAll(List<T> more) {
+        List<T> added = new ArrayList<>(more.size());
+        for (T row : more) {
+            if (rowsById.putIfAbsent(row.getId(), row) == null) {
+                added.add(row);
+            }
+        }
+        rows.addAll(added);
+    }
+
+    /**
+     * Replaces the row with the same id, or inserts the row at the top if it is new.
+     */
+    public void upsert(T row) {
+        if (rowsById.put(row.getId(), row) == null) {
+            rows.add(0, row);
+            return;
+        }
+        int index = indexOf(row.getId());
+        if (rows.get(index) != row) {
+            rows.set(index, row);
+        }
+    }
+
+    public void remove(Long id) {
+        if (rowsById.remove(id) != null) {
+            rows.remove(indexOf(id));
+        }
+    }
+
+    public void clear() {
+        rows.clear();
+        rowsById.clear();
+    }
+
+    /**
+     * Keeps shown rows current with writes made elsewhere, including other terminals: each change
+     * notification for the table re-reads that one row and updates or removes it. Rows not
+     * shown are left alone so a filtered view stays filtered. The lookup runs on the listener's
+     * dispatch thread, never on the FX thread.
+     */
+    public void followChanges(ChangeNotificationListener listener, String tableName,
+                              Function<Long, Optional<T>> rowLoader, Runnable onReset) {
+        listener.subscribe(tableName, id -> {
+            Optional<T> row = rowLoader.apply(id);
+            Platform.runLater(() -> {
+                if (!contains(id)) {
+                    return;
+                }
+                if (row.isPresent()) {
+                    upsert(row.get());
+                } else {
+                    remove(id);
+                }
+            });
+        }, () -> Platform.runLater(onReset));
+    }
+
+    private int indexOf(Long id) {
+        for (int i = 0; i < rows.size(); i++) {
+            if (rows.get(i).getId().equals(id)) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Row " + id + " is indexed but not in the list");
+    }
+
+    private boolean isChanged(T current, T replacement) {
+        if (current == replacement) {
+            return false;
+        }
+        // Rows stamped with the same update time hold the same data
+        return current.getUpdatedAt() == null
+                || !Objects.equals(current.getUpdatedAt(), replacement.getUpdatedAt());
+    }
+}
@@ -3,6 +3,7 @@ package com.nadia.pos.controller;
 import com.nadia.pos.model.Employee;
 import com.nadia.pos.model.Inventory;
 import com.nadia.pos.model.Product;
+import com.nadia.pos.model.StocktakeReport;
 import com.nadia.pos.service.EmployeeService;
 import com.nadia.pos.service.InventoryService;
 import com.nadia.pos.service.ProductService;
@@ -16,9 +17,13 @@ import javafx.fxml.Initializable;
 import javafx.geometry.Insets;
 import javafx.scene.control.*;
 import javafx.scene.layout.GridPane;
+import javafx.stage.FileChooser;
 import javafx.util.Callback;
 
+import java.io.File;
+import java.io.Reader;
 import java.net.URL;
+import java.nio.file.Files;
 import java.sql.SQLException;
 import java.util.ResourceBundle;
 
@@ -41,10 +46,13 @@ public class InventoryController implements Initializable {
     @FXML private Button addStockButton;
     @FXML private Button removeStockButton;
     @FXML private Button stockCheckButton;
+    @FXML private Button importStocktakeButton;
     @FXML private Button editButton;
     @FXML private Button createButton;
 
+    private TablePager<Inventory> inventoryPager;
     private FilteredList<Inventory> filteredData;
+    private final BackgroundLoader stocktakeLoader = new BackgroundLoader();
 
     public InventoryController(InventoryService inventoryService, ProductService productService, EmployeeService employeeService) {
         this.inventoryService = inventoryService;
@@ -55,6 +63,10 @@ public class InventoryController implements Initializable {
     @Override
     public void initialize(URL url, ResourceBundle rb) {
         setupTableColumns();
+        inventoryPager = new TablePager<>(inventoryTable, inventoryService::getInventoryPage,
+                e -> showError("Error loading inventory data", e.getMessage()));
+        filteredData = new FilteredList<>(inventoryPager.getItems(), p -> true);
+        inventoryTable.setItems(filteredData);
         setupSearch();
         loadInventoryData();
         setupEventHandlers();
@@ -91,13 +103,11 @@ public class InventoryController implements Initializable {
     }
 
     private void loadInventoryData() {
-        try {
-            filteredData = new FilteredList<>(FXCollections.observableArrayList(
-                    inventoryService.getAllInventory()), p -> true);
-            inventoryTable.setItems(filteredData);
-        } catch (SQLException e) {
-            showError("Error loading inventory data", e.getMessage());
-        }
+        inventoryPager.reload();
+    }
+
+    private void upsertRow(Inventory updated) {
+        inventoryPager.getModel().upsert(updated);
     }
 
     private void setupEventHandlers() {
@@ -105,6 +115,7 @@ public class InventoryController implements Initializable {
         addStockButton.setOnAction(e -> handleSelectedInventory(this::showAddStockDialog));
         removeStockButton.setOnAction(e -> handleSelectedInventory(this::showRemoveStockDialog));
         stockCheckButton.setOnAction(e -> handleSelectedInventory(this::showStockCheckDialog));
+        importStocktakeButton.setOnAction(e -> showImportStocktakeDialog());
         editButton.setOnAction(e -> handleSelectedInventory(this::showEditInventoryDialog));
         createButton.setOnAction(e -> showCreateInventoryDialog());
     }
@@ -182,8 +193,7 @@ public class InventoryController implements Initializable {
         dialog.showAndWait().ifPresent(quantity -> {
             if (quantity != null) {
                 try {
-                    inventoryService.addStock(inventory.getId(), quantity);
-                    loadInventoryData();
+                    upsertRow(inventoryService.addStock(inventory.getId(), quantity));
                 } catch (Exception e) {
                     showError("Error adding stock", e.getMessage());
                 }
@@ -244,8 +254,7 @@ public class InventoryController implements Initializable {
         dialog.showAndWait().ifPresent(quantity -> {
             if (quantity != null) {
                 try {
-                    inventoryService.removeStock(inventory.getId(), quantity);
-                    loadInventoryData();
+                    upsertRow(inventoryService.removeStock(inventory.getId(), quantity));
                 } catch (Exception e) {
                     showError("Error removing stock", e.getMessage());
                 }
@@ -296,8 +305,7 @@ public class InventoryController implements Initializable {
         dialog.showAndWait().ifPresent(actualQuantity -> {
             if (actualQuantity != null) {
                 try {
-                    inventoryService.performStockCheck(inventory.getId(), actualQuantity);
-                    loadInventoryData();
+                    upsertRow(inventoryService.performStockCheck(inventory.getId(), actualQuantity));
                 } catch (Exception e) {
                     showError("Error performing stock check", e.getMessage());
                 }
@@ -305,6 +313,77 @@ public class InventoryController implements Initializable {
         });
     }
 
+    private void showImportStocktakeDialog() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Select Stocktake Count File");
+        fileChooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("Count Files", "*.csv", "*.txt"),
+                new FileChooser.ExtensionFilter("All Files", "*.*"));
+        File file = fileChooser.showOpenDialog(inventoryTable.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        Dialog<Employee> dialog = new Dialog<>();
+        dialog.setTitle("Import Stocktake");
+        dialog.setHeaderText("Set stock levels to the counts in " + file.getName());
+        DialogPane dialogPane = dialog.getDialogPane();
+        dialogPane.getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
+
+        ComboBox<Employee> employeeComboBox = createEmployeeComboBox();
+        GridPane grid = new GridPane();
+        grid.setHgap(10);
+        grid.setVgap(10);
+        grid.add(new Label("Counted By:"), 0, 0);
+        grid.add(employeeComboBox, 1, 0);
+        dialogPane.setContent(grid);
+
+        Button okButton = (Button) dialogPane.lookupButton(ButtonType.OK);
+        okButton.disableProperty().bind(employeeComboBox.valueProperty().isNull());
+        dialog.setResultConverter(buttonType -> buttonType == ButtonType.OK ? employeeComboBox.getValue() : null);
+
+        dialog.showAndWait().ifPresent(employee -> {
+            importStocktakeButton.setDisable(true);
+            stocktakeLoader.load(() -> {
+                try (Reader counts = Files.newBufferedReader(file.toPath())) {
+                    return inventoryService.importStocktake(counts, employee.getId());
+                }
+            }, report -> {
+                importStocktakeButton.setDisable(false);
+                showStocktakeReport(report);
+                loadInventoryData();
+            }, e -> {
+                importStocktakeButton.setDisable(false);
+                showError("Error importing stocktake", e.getMessage());
+                loadInventoryData();
+            });
+        });
+    }
+
+    private void showStocktakeReport(StocktakeReport report) {
+        StringBuilder summary = new StringBuilder()
+                .append("Lines read: ").append(report.getLinesRead()).append('\n')
+                .append("Products counted: ").append(report.getProductsCounted()).append('\n')
+                .append("Products with a variance: ").append(report.getVariances().size()).append('\n')
+                .append("Net variance: ").append(report.getNetVariance())
+                .append(" units, ").append(report.getNetVarianceValue()).append('\n');
+        if (report.getProblemCount() > 0) {
+            summary.append('\n').append(report.getProblemCount()).append(" line(s) could not be applied:\n");
+            for (String problem : report.getProblems()) {
+                summary.append(problem).append('\n');
+            }
+        }
+
+        Alert alert = new Alert(report.getProblemCount() > 0 ? Alert.AlertType.WARNING : Alert.AlertType.INFORMATION);
+        alert.setTitle("Stocktake Imported");
+        alert.setHeaderText("Stocktake imported");
+        TextArea details = new TextArea(summary.toString());
+        details.setEditable(false);
+        details.setWrapText(true);
+        alert.getDialogPane().setContent(details);
+        alert.showAndWait();
+    }
+
     private void showEditInventoryDialog(Inventory inventory) {
         Dialog<Inventory> dialog = new Dialog<>();
         dialog.setTitle("Edit Inventory");
@@ -354,8 +433,7 @@ public class InventoryController implements Initializable {
 
         dialog.showAndWait().ifPresent(updated -> {
             try {
-                inventoryService.updateInventory(updated.getId(), updated);
-                loadInventoryData();
+                upsertRow(inventoryService.updateInventory(updated.getId(), updated));
             } catch (Exception e) {
                 showError("Error updating inventory", e.getMessage());
             }
@@ -402,30 +480,7 @@ public class InventoryController implements Initializable {
         });
 
         // Employee selection combobox
-        ComboBox<Employee> employeeComboBox = new ComboBox<>();
-        employeeComboBox.setItems(FXCollections.observableArrayList(employeeService.findAllEmployees()));
-        employeeComboBox.setCellFactory(lv -> new ListCell<Employee>() {
-            @Override
-            protected void updateItem(Employee employee, boolean empty) {
-                super.updateItem(employee, empty);
-                if (empty || employee == null) {
-                    setText(null);
-                } else {
-                    setText(employee.getFullName());
-                }
-            }
-        });
-        employeeComboBox.setButtonCell(new ListCell<Employee>() {
-            @Override
-            protected void updateItem(Employee employee, boolean empty) {
-                super.updateItem(employee, empty);
-                if (empty || employee == null) {
-                    setText(null);
-                } else {
-                    setText(employee.getFullName());
-                }
-            }
-        });
+        ComboBox<Employee> employeeComboBox = createEmployeeComboBox();
 
         TextField initialQuantityField = new TextField("0");
         TextField minStockField = new TextField("0");
@@ -497,14 +552,41 @@ public class InventoryController implements Initializable {
         dialog.showAndWait().ifPresent(newInventory -> {
             try {
                 Employee selectedEmployee = employeeComboBox.getValue();
-                inventoryService.createInventory(newInventory, selectedEmployee.getId());
-                loadInventoryData();
+                upsertRow(inventoryService.createInventory(newInventory, selectedEmployee.getId()));
             } catch (Exception e) {
                 showError("Error creating inventory", e.getMessage());
             }
         });
     }
 
+    private ComboBox<Employee> createEmployeeComboBox() {
+        ComboBox<Employee> employeeComboBox = new ComboBox<>();
+        employeeComboBox.setItems(FXCollections.observableArrayList(employeeService.findAllEmployees()));
+        employeeComboBox.setCellFactory(lv -> new ListCell<Employee>() {
+            @Override
+            protected void updateItem(Employee employee, boolean empty) {
+                super.updateItem(employee, empty);
+                if (empty || employee == null) {
+                    setText(null);
+                } else {
+                    setText(employee.getFullName());
+                }
+            }
+        });
+        employeeComboBox.setButtonCell(new ListCell<Employee>() {
+            @Override
+            protected void updateItem(Employee employee, boolean empty) {
+                super.updateItem(employee, empty);
+                if (empty || employee == null) {
+                    setText(null);
+                } else {
+                    setText(employee.getFullName());
+                }
+            }
+        });
+        return employeeComboBox;
+    }
+
     private void showError(String title, String content) {
         Alert alert = new Alert(Alert.AlertType.ERROR);
         alert.setTitle(title);
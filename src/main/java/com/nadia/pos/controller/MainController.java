@@ -2,6 +2,7 @@ package com.nadia.pos.controller;
 
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
+import javafx.scene.Parent;
 import javafx.scene.control.Button;
 import javafx.scene.layout.StackPane;
 import com.nadia.pos.utils.SceneManager;
@@ -44,7 +45,10 @@ public class MainController implements Initializable {
 
     public void loadView(String viewName) {
         try {
-            contentArea.getChildren().setAll(sceneManager.getView(viewName));
+            Parent view = sceneManager.getView(viewName);
+            if (view != null) {
+                contentArea.getChildren().setAll(view);
+            }
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -13,7 +13,6 @@ import javafx.scene.control.cell.PropertyValueFactory;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.List;
 
 public class OrderController {
     @FXML private TableView<Order> orderTable;
@@ -38,6 +37,8 @@ public class OrderController {
     private final EmployeeService employeeService;
     private final ObservableList<Order> orders;
     private final ObservableList<OrderItem> orderItems = FXCollections.observableArrayList();
+    private final BackgroundLoader orderLoader = new BackgroundLoader();
+    private final BackgroundLoader employeeLoader = new BackgroundLoader();
 
     public OrderController(OrderService<Order> orderService, EmployeeService employeeService) {
         this.orderService = orderService;
@@ -49,6 +50,7 @@ public class OrderController {
     @FXML
     public void initialize() {
         setupColumns();
+        orderLoader.showProgressIn(orderTable);
         setupListeners();
         setupEmployeeComboBox();
         loadOrders();
@@ -76,51 +78,46 @@ public class OrderController {
     }
 
     private void loadOrders() {
-        orders.clear();
-        orders.addAll(orderService.findAll());
         orderTable.setItems(orders);
+        orderLoader.load(orderService::findAll, orders::setAll,
+                e -> showAlert("Error", "Failed to load orders: " + e.getMessage(), Alert.AlertType.ERROR));
     }
 
     private void setupEmployeeComboBox() {
         // Load employees
-        try {
-            List<Employee> employees = employeeService.findEmployeesByDepartment("Sales");
-            employeeList.clear();
-            employeeList.addAll(employees);
-            employeeCombo.setItems(employeeList);
-
-            // Set up display format for employee names
-            employeeCombo.setCellFactory(param -> new ListCell<Employee>() {
-                @Override
-                protected void updateItem(Employee employee, boolean empty) {
-                    super.updateItem(employee, empty);
-                    if (empty || employee == null) {
-                        setText(null);
-                    } else {
-                        setText(String.format("%s (%s)",
-                                employee.getFullName(),
-                                employee.getEmployeeId()));
-                    }
+        employeeCombo.setItems(employeeList);
+        employeeLoader.load(() -> employeeService.findEmployeesByDepartment("Sales"), employeeList::setAll,
+                e -> showAlert("Error", "Failed to load employees", Alert.AlertType.ERROR));
+
+        // Set up display format for employee names
+        employeeCombo.setCellFactory(param -> new ListCell<Employee>() {
+            @Override
+            protected void updateItem(Employee employee, boolean empty) {
+                super.updateItem(employee, empty);
+                if (empty || employee == null) {
+                    setText(null);
+                } else {
+                    setText(String.format("%s (%s)",
+                            employee.getFullName(),
+                            employee.getEmployeeId()));
                 }
-            });
-
-            // Set up display for selected employee
-            employeeCombo.setButtonCell(new ListCell<Employee>() {
-                @Override
-                protected void updateItem(Employee employee, boolean empty) {
-                    super.updateItem(employee, empty);
-                    if (empty || employee == null) {
-                        setText(null);
-                    } else {
-                        setText(String.format("%s (%s)",
-                                employee.getFullName(),
-                                employee.getEmployeeId()));
-                    }
+            }
+        });
+
+        // Set up display for selected employee
+        employeeCombo.setButtonCell(new ListCell<Employee>() {
+            @Override
+            protected void updateItem(Employee employee, boolean empty) {
+                super.updateItem(employee, empty);
+                if (empty || employee == null) {
+                    setText(null);
+                } else {
+                    setText(String.format("%s (%s)",
+                            employee.getFullName(),
+                            employee.getEmployeeId()));
                 }
-            });
-        } catch (Exception e) {
-            showAlert("Error", "Failed to load employees", Alert.AlertType.ERROR);
-        }
+            }
+        });
     }
 
     private void displayOrderDetails(Order order) {
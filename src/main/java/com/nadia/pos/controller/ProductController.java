@@ -3,15 +3,17 @@ package com.nadia.pos.controller;
 import com.nadia.pos.exceptions.ValidationException;
 import com.nadia.pos.model.Product;
 import com.nadia.pos.service.ProductService;
-import javafx.collections.FXCollections;
+import com.nadia.pos.utils.ChangeNotificationListener;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.HBox;
+import javafx.util.Duration;
 
 import java.math.BigDecimal;
 import java.net.URL;
+import java.util.List;
 import java.util.ResourceBundle;
 
 public class ProductController implements Initializable {
@@ -32,15 +34,23 @@ public class ProductController implements Initializable {
     @FXML private TableColumn<Product, Integer> minimumStockColumn;
     @FXML private TableColumn<Product, String> barcodeColumn;
 
+    private static final Duration SEARCH_DELAY = Duration.millis(250);
+
     private final ProductService productService;
+    private final BackgroundLoader productLoader = new BackgroundLoader();
+    private final BackgroundLoader imageLoader = new BackgroundLoader();
+    private final EntityTableModel<Product> products = new EntityTableModel<>();
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ChangeNotificationListener changeListener) {
         this.productService = productService;
+        products.followChanges(changeListener, "products", productService::findProductById, this::loadProducts);
     }
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         setupTable();
+        productTable.setItems(products.getRows());
+        productLoader.showProgressIn(productTable);
         setupSearch();
         setupAddButton();
         loadProducts();
@@ -90,17 +100,25 @@ public class ProductController implements Initializable {
     private void setupSearch() {
         searchField.textProperty().addListener((observable, oldValue, newValue) -> {
             if (newValue.length() >= 3) {
-                productTable.setItems(FXCollections.observableArrayList(
-                        productService.searchProducts(newValue)
-                ));
+                productLoader.loadAfter(SEARCH_DELAY, () -> productService.searchProducts(newValue),
+                        this::showProducts, this::showLoadError);
             }
         });
     }
 
     private void loadProducts() {
-        productTable.setItems(FXCollections.observableArrayList(
-                productService.findAllProducts()
-        ));
+        productLoader.load(productService::findAllProducts, this::showProducts, this::showLoadError);
+    }
+
+    private void showProducts(List<Product> results) {
+        products.replaceAll(results);
+    }
+
+    private void showLoadError(Exception e) {
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle("Error");
+        alert.setContentText("Failed to load products: " + e.getMessage());
+        alert.showAndWait();
     }
 
     private void handleDelete(Product product) {
@@ -110,13 +128,20 @@ public class ProductController implements Initializable {
         alert.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
                 productService.deleteProduct(product.getId());
-                loadProducts();
+                products.remove(product.getId());
             }
         });
     }
 
     private void openEditDialog(Product product) {
-        ProductEditDialog dialog = new ProductEditDialog(product);
+        // The table rows are shared catalog entries loaded without images; fetch this one's image
+        // only when it is edited and hand it to the dialog instead of storing it on the row
+        imageLoader.load(() -> productService.findProductImage(product.getId()),
+                image -> showEditDialog(product, image), this::showLoadError);
+    }
+
+    private void showEditDialog(Product product, byte[] image) {
+        ProductEditDialog dialog = new ProductEditDialog(product, image);
         dialog.showAndWait().ifPresent(updatedProduct -> {
             try {
                 productService.updateProduct(updatedProduct);
@@ -131,7 +156,7 @@ public class ProductController implements Initializable {
     }
     private void setupAddButton() {
         addButton.setOnAction(event -> {
-            ProductEditDialog dialog = new ProductEditDialog(null);
+            ProductEditDialog dialog = new ProductEditDialog(null, null);
             dialog.showAndWait().ifPresent(newProduct -> {
                 try {
                     productService.createProduct(newProduct);
@@ -4,6 +4,7 @@ import com.nadia.pos.model.Product;
 import javafx.geometry.Insets;
 import javafx.scene.control.*;
 import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
 import javafx.stage.FileChooser;
 import java.io.File;
 import java.math.BigDecimal;
@@ -20,9 +21,15 @@ public class ProductEditDialog extends Dialog<Product> {
     private final TextField minimumStockField = new TextField();
     private final TextField barcodeField = new TextField();
     private final Button imageButton = new Button("Choose Image");
+    private final Button removeImageButton = new Button("Remove Image");
     private byte[] selectedImage;
+    private boolean imageChanged;
 
-    public ProductEditDialog(Product product) {
+    /**
+     * The product is only read, never modified; the result is a new Product. Its image is passed
+     * separately since products are loaded without one.
+     */
+    public ProductEditDialog(Product product, byte[] image) {
         setTitle(product == null ? "Add New Product" : "Edit Product");
 
         // Create the dialog content
@@ -61,7 +68,7 @@ public class ProductEditDialog extends Dialog<Product> {
         grid.add(barcodeField, 1, row++);
 
         grid.add(new Label("Image:"), 0, row);
-        grid.add(imageButton, 1, row);
+        grid.add(new HBox(5, imageButton, removeImageButton), 1, row);
 
         getDialogPane().setContent(grid);
 
@@ -75,13 +82,22 @@ public class ProductEditDialog extends Dialog<Product> {
             if (file != null) {
                 try {
                     selectedImage = Files.readAllBytes(file.toPath());
+                    imageChanged = true;
                     imageButton.setText(file.getName());
+                    removeImageButton.setDisable(false);
                 } catch (Exception ex) {
                     new Alert(Alert.AlertType.ERROR, "Failed to load image").showAndWait();
                 }
             }
         });
 
+        removeImageButton.setOnAction(e -> {
+            selectedImage = null;
+            imageChanged = true;
+            imageButton.setText("Choose Image");
+            removeImageButton.setDisable(true);
+        });
+
         // Set initial values if editing
         if (product != null) {
             nameField.setText(product.getName());
@@ -93,11 +109,12 @@ public class ProductEditDialog extends Dialog<Product> {
             unitField.setText(product.getUnit());
             minimumStockField.setText(product.getMinimumStock().toString());
             barcodeField.setText(product.getBarcode());
-            selectedImage = product.getImage();
+            selectedImage = image;
             if (selectedImage != null) {
                 imageButton.setText("Image Selected");
             }
         }
+        removeImageButton.setDisable(selectedImage == null);
 
         // Add buttons
         getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
@@ -107,6 +124,10 @@ public class ProductEditDialog extends Dialog<Product> {
             if (buttonType == ButtonType.OK) {
                 try {
                     Product result = new Product();
+                    if (product != null) {
+                        result.setId(product.getId());
+                        result.setCreatedAt(product.getCreatedAt());
+                    }
                     result.setName(nameField.getText());
                     result.setCode(codeField.getText());
                     result.setDescription(descriptionField.getText());
@@ -116,7 +137,9 @@ public class ProductEditDialog extends Dialog<Product> {
                     result.setUnit(unitField.getText());
                     result.setMinimumStock(Integer.parseInt(minimumStockField.getText()));
                     result.setBarcode(barcodeField.getText());
-                    result.setImage(selectedImage);
+                    if (imageChanged) {
+                        result.setImage(selectedImage);
+                    }
 
                     // Validate the product
                     result.validate();
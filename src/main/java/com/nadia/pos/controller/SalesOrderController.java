@@ -54,11 +54,14 @@ public class SalesOrderController {
     private final CustomerService customerService;
     private final EmployeeService employeeService;
     private final ProductService productService;
-    private final ObservableList<SalesOrder> salesOrders;
+    private TablePager<SalesOrder> salesOrderPager;
     private final ObservableList<Customer> customerList;
     private final ObservableList<Employee> employeeList;
     private final ObservableList<Product> productList;
     private final ObservableList<SalesOrderItem> orderItems = FXCollections.observableArrayList();
+    private final BackgroundLoader productLoader = new BackgroundLoader();
+    private final BackgroundLoader customerLoader = new BackgroundLoader();
+    private final BackgroundLoader employeeLoader = new BackgroundLoader();
     private SalesOrder currentOrder;
 
     public SalesOrderController(SalesOrderService salesOrderService,
@@ -70,7 +73,6 @@ public class SalesOrderController {
         this.customerService = customerService;
         this.employeeService = employeeService;
         this.productService = productService;
-        this.salesOrders = FXCollections.observableArrayList();
         this.customerList = FXCollections.observableArrayList();
         this.employeeList = FXCollections.observableArrayList();
         this.productList = FXCollections.observableArrayList();
@@ -80,12 +82,8 @@ public class SalesOrderController {
     public void initialize() {
         System.out.println("Initializing SalesOrderController");
 
-        try {
-            List<Product> products = productService.findAll();
-            productList.setAll(products);
-        } catch (Exception e) {
-            showAlert("Error", "Failed to load products: " + e.getMessage(), Alert.AlertType.ERROR);
-        }
+        productLoader.load(productService::findAll, productList::setAll,
+                e -> showAlert("Error", "Failed to load products: " + e.getMessage(), Alert.AlertType.ERROR));
 
         setupColumns();
         loadSalesOrders();
@@ -131,25 +129,17 @@ public class SalesOrderController {
     }
 
     private void setupCustomerComboBox() {
-        try {
-            List<Customer> customers = customerService.searchCustomers("");
-            customerList.setAll(customers);
-            customerCombo.setItems(customerList);
-            setupComboBoxDisplay(customerCombo);
-        } catch (Exception e) {
-            showAlert("Error", "Failed to load customers", Alert.AlertType.ERROR);
-        }
+        customerCombo.setItems(customerList);
+        setupComboBoxDisplay(customerCombo);
+        customerLoader.load(() -> customerService.searchCustomers(""), customerList::setAll,
+                e -> showAlert("Error", "Failed to load customers", Alert.AlertType.ERROR));
     }
 
     private void setupEmployeeComboBox() {
-        try {
-            List<Employee> employees = employeeService.findAllEmployees();
-            employeeList.setAll(employees);
-            employeeCombo.setItems(employeeList);
-            setupComboBoxDisplay(employeeCombo);
-        } catch (Exception e) {
-            showAlert("Error", "Failed to load employees", Alert.AlertType.ERROR);
-        }
+        employeeCombo.setItems(employeeList);
+        setupComboBoxDisplay(employeeCombo);
+        employeeLoader.load(employeeService::findAllEmployees, employeeList::setAll,
+                e -> showAlert("Error", "Failed to load employees", Alert.AlertType.ERROR));
     }
 
     private <T> void setupComboBoxDisplay(ComboBox<T> comboBox) {
@@ -182,9 +172,10 @@ public class SalesOrderController {
 
     private void loadSalesOrders() {
         try {
-            List<SalesOrder> orders = salesOrderService.findAll();
-            salesOrders.setAll(orders);
-            salesOrderTable.setItems(salesOrders);
+            salesOrderPager = new TablePager<>(salesOrderTable, salesOrderService::findPage,
+                    e -> showAlert("Error", "Failed to load sales orders: " + e.getMessage(), Alert.AlertType.ERROR));
+            salesOrderPager.reload();
+            salesOrderTable.setItems(salesOrderPager.getItems());
 
             salesOrderTable.getSelectionModel().selectedItemProperty().addListener(
                     (observable, oldValue, newValue) -> {
@@ -250,6 +241,7 @@ public class SalesOrderController {
             } else {
                 salesOrderService.updateSalesOrder(currentOrder);
             }
+            salesOrderPager.getModel().upsert(currentOrder);
             showAlert("Success", "Sales order saved successfully", Alert.AlertType.INFORMATION);
             handleNewSalesOrder();
         } catch (Exception e) {
@@ -381,7 +373,7 @@ public class SalesOrderController {
 
         // Create and populate product ComboBox
         ComboBox<Product> dialogProductCombo = new ComboBox<>();
-        dialogProductCombo.setItems(FXCollections.observableArrayList(productService.findAll()));
+        dialogProductCombo.setItems(productList);
         dialogProductCombo.setCellFactory(lv -> new ListCell<Product>() {
             @Override
             protected void updateItem(Product product, boolean empty) {
@@ -9,6 +9,7 @@ import com.nadia.pos.service.ProductService;
 import com.nadia.pos.service.EmployeeService;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
@@ -19,18 +20,23 @@ import javafx.util.StringConverter;
 import java.io.File;
 import java.math.BigDecimal;
 import java.net.URL;
-import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.ResourceBundle;
 
 import javafx.stage.FileChooser;
+import com.nadia.pos.utils.StockMovementCsvExporter;
 import com.nadia.pos.utils.StockMovementPdfGenerator;
 
 public class StockMovementController implements Initializable {
     private final StockMovementService stockMovementService;
     private final ProductService productService;
     private final EmployeeService employeeService;
+    private TablePager<StockMovement> movementPager;
+    private final BackgroundLoader referenceSearchLoader = new BackgroundLoader();
+    private final BackgroundLoader dialogProductLoader = new BackgroundLoader();
+    private final BackgroundLoader dialogEmployeeLoader = new BackgroundLoader();
+    private final BackgroundLoader exportLoader = new BackgroundLoader();
 
     @FXML private TableView<StockMovement> movementTable;
     @FXML private TableColumn<StockMovement, String> dateColumn;
@@ -49,6 +55,7 @@ public class StockMovementController implements Initializable {
     @FXML private Button newMovementButton;
     @FXML private Button viewDetailsButton;
     @FXML private Button generatePdfButton;
+    @FXML private Button exportButton;
 
     public StockMovementController(StockMovementService stockMovementService,
                                    ProductService productService,
@@ -61,6 +68,9 @@ public class StockMovementController implements Initializable {
     @Override
     public void initialize(URL url, ResourceBundle rb) {
         setupTableColumns();
+        movementPager = new TablePager<>(movementTable, stockMovementService::getMovementsPage,
+                e -> showError("Error loading movements", e.getMessage()));
+        referenceSearchLoader.showProgressIn(movementTable);
         setupMovementTypeCombo();
         setupDatePickers();
         setupEventHandlers();
@@ -133,6 +143,8 @@ public class StockMovementController implements Initializable {
 //        newMovementButton.setOnAction(e -> showNewMovementDialog());
         viewDetailsButton.setOnAction(e -> showMovementDetails());
         generatePdfButton.setOnAction(e -> printMovement());
+        exportButton.setOnAction(e -> exportMovements());
+        exportButton.disableProperty().bind(exportLoader.loadingProperty());
     }
 
     private void setupContextMenu() {
@@ -149,24 +161,27 @@ public class StockMovementController implements Initializable {
     }
 
     private void searchMovements() {
-        try {
-            List<StockMovement> movements;
-            if (!referenceSearchField.getText().isEmpty()) {
-                movements = stockMovementService.getMovementsByReference(referenceSearchField.getText());
-            } else {
-                movements = stockMovementService.getAllMovements();
-            }
-
-            FilteredList<StockMovement> filteredData = new FilteredList<>(FXCollections.observableArrayList(movements));
-            if (movementTypeCombo.getValue() != null) {
-                filteredData.setPredicate(movement ->
-                        movement.getType() == movementTypeCombo.getValue());
-            }
+        String reference = referenceSearchField.getText();
+        if (!reference.isEmpty()) {
+            referenceSearchLoader.load(() -> stockMovementService.getMovementsByReference(reference),
+                    movements -> showMovements(FXCollections.observableArrayList(movements)),
+                    e -> showError("Error searching movements", e.getMessage()));
+        } else {
+            // Newest movements first, further pages load as the table is scrolled
+            referenceSearchLoader.cancel();
+            movementPager.reload();
+            showMovements(movementPager.getItems());
+        }
+    }
 
-            movementTable.setItems(filteredData);
-        } catch (SQLException e) {
-            showError("Error searching movements", e.getMessage());
+    private void showMovements(ObservableList<StockMovement> movements) {
+        FilteredList<StockMovement> filteredData = new FilteredList<>(movements);
+        if (movementTypeCombo.getValue() != null) {
+            filteredData.setPredicate(movement ->
+                    movement.getType() == movementTypeCombo.getValue());
         }
+
+        movementTable.setItems(filteredData);
     }
 
     private void showNewMovementDialog() {
@@ -189,12 +204,18 @@ public class StockMovementController implements Initializable {
 
         // Product combo
         ComboBox<Product> productCombo = new ComboBox<>();
-        productCombo.setItems(FXCollections.observableArrayList(productService.findAllProducts()));
+        ObservableList<Product> products = FXCollections.observableArrayList();
+        productCombo.setItems(products);
+        dialogProductLoader.load(productService::findAllProducts, products::setAll,
+                e -> showError("Error loading products", e.getMessage()));
         productCombo.setPromptText("Select product");
 
         // Employee combo
         ComboBox<Employee> employeeCombo = new ComboBox<>();
-        employeeCombo.setItems(FXCollections.observableArrayList(employeeService.findAllEmployees()));
+        ObservableList<Employee> employees = FXCollections.observableArrayList();
+        employeeCombo.setItems(employees);
+        dialogEmployeeLoader.load(employeeService::findAllEmployees, employees::setAll,
+                e -> showError("Error loading employees", e.getMessage()));
         employeeCombo.setConverter(new StringConverter<Employee>() {
             @Override
             public String toString(Employee employee) {
@@ -289,8 +310,13 @@ public class StockMovementController implements Initializable {
 
         dialog.showAndWait().ifPresent(movement -> {
             try {
-                stockMovementService.recordMovement(movement);
-                searchMovements();
+                StockMovement recorded = stockMovementService.recordMovement(movement);
+                if (referenceSearchField.getText().isEmpty()) {
+                    // Newest first, so the new movement goes on top without reloading the table
+                    movementPager.getModel().upsert(recorded);
+                } else {
+                    searchMovements();
+                }
             } catch (Exception e) {
                 showError("Error recording movement", e.getMessage());
             }
@@ -399,6 +425,35 @@ public class StockMovementController implements Initializable {
         }
     }
 
+    private void exportMovements() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Export Stock Movements");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV Files", "*.csv"));
+        fileChooser.setInitialFileName("stock-movements-" + LocalDate.now() + ".csv");
+
+        File file = fileChooser.showSaveDialog(movementTable.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        // Streamed from a server-side cursor straight into the file, so the whole movement
+        // history is never held in memory; names come from the in-memory product and employee caches
+        exportLoader.load(() -> {
+            try (StockMovementCsvExporter exporter = new StockMovementCsvExporter(file.toPath())) {
+                stockMovementService.forEachMovement(movement -> exporter.write(movement,
+                        productService.findProductById(movement.getProduct().getId())
+                                .map(Product::getName).orElse(""),
+                        employeeService.findEmployeeById(movement.getProcessedBy().getId())
+                                .map(Employee::getFullName).orElse("")));
+                return exporter.getRowCount();
+            }
+        }, rowCount -> {
+            Alert alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle("Success");
+            alert.setContentText(rowCount + " stock movements have been exported.");
+            alert.showAndWait();
+        }, e -> showError("Error Exporting Movements", "Failed to export stock movements: " + e.getMessage()));
+    }
+
     private void loadInitialData() {
         searchMovements();
     }
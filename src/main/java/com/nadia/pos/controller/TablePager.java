@@ -0,0 +1,91 @@
+package com.nadia.pos.controller;
+
+import com.nadia.pos.model.BaseEntity;
+import javafx.collections.ObservableList;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.control.TableView;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Feeds a TableView one keyset page at a time, fetching the next page when the user scrolls to
+ * the bottom instead of loading the whole table up front. Pages are fetched in the background.
+ */
+public class TablePager<T extends BaseEntity> {
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    @FunctionalInterface
+    public interface PageLoader<T> {
+        List<T> loadPage(Long afterId, int limit) throws SQLException;
+    }
+
+    private final EntityTableModel<T> model = new EntityTableModel<>();
+    private final PageLoader<T> loader;
+    private final Consumer<Exception> errorHandler;
+    private final int pageSize;
+    private final BackgroundLoader backgroundLoader = new BackgroundLoader();
+    private boolean exhausted;
+
+    public TablePager(TableView<?> table, PageLoader<T> loader, Consumer<Exception> errorHandler) {
+        this(table, loader, errorHandler, DEFAULT_PAGE_SIZE);
+    }
+
+    public TablePager(TableView<?> table, PageLoader<T> loader, Consumer<Exception> errorHandler, int pageSize) {
+        this.loader = loader;
+        this.errorHandler = errorHandler;
+        this.pageSize = pageSize;
+        backgroundLoader.showProgressIn(table);
+        table.skinProperty().addListener((observable, oldSkin, newSkin) -> {
+            if (newSkin != null) {
+                attachScrollListener(table);
+            }
+        });
+    }
+
+    public ObservableList<T> getItems() {
+        return model.getRows();
+    }
+
+    /**
+     * The loaded rows, for applying single-row changes after an edit without reloading.
+     */
+    public EntityTableModel<T> getModel() {
+        return model;
+    }
+
+    public void reload() {
+        // Drops a page still loading for the old contents
+        backgroundLoader.cancel();
+        model.clear();
+        exhausted = false;
+        loadNextPage();
+    }
+
+    public void loadNextPage() {
+        if (exhausted || backgroundLoader.isLoading()) {
+            return;
+        }
+        ObservableList<T> items = model.getRows();
+        Long afterId = items.isEmpty() ? null : items.get(items.size() - 1).getId();
+        backgroundLoader.load(() -> loader.loadPage(afterId, pageSize), page -> {
+            exhausted = page.size() < pageSize;
+            model.addAll(page);
+        }, errorHandler);
+    }
+
+    private void attachScrollListener(TableView<?> table) {
+        for (Node node : table.lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar scrollBar && scrollBar.getOrientation() == Orientation.VERTICAL) {
+                scrollBar.valueProperty().addListener((observable, oldValue, newValue) -> {
+                    if (newValue.doubleValue() >= scrollBar.getMax()) {
+                        loadNextPage();
+                    }
+                });
+            }
+        }
+    }
+}
@@ -1,14 +1,23 @@
 package com.nadia.pos.dao;
 
+import com.nadia.pos.enums.SortDirection;
 import com.nadia.pos.model.BaseEntity;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface BaseDAO<T extends BaseEntity> {
     T save(T entity);
+    List<T> saveAll(List<T> entities);
+    Optional<T> insertIfAbsent(T entity, String... conflictColumns);
+    T upsert(T entity, String... conflictColumns);
     Optional<T> findById(Long id);
+    List<T> findByIds(Collection<Long> ids);
     List<T> findAll();
+    List<T> findPage(Long afterId, int limit, SortDirection sort);
+    void forEach(Consumer<? super T> consumer);
     void delete(T entity);
     void deleteById(Long id);
     boolean exists(Long id);
@@ -1,22 +1,49 @@
 package com.nadia.pos.dao;
 
+import com.nadia.pos.enums.SortDirection;
+import com.nadia.pos.model.AggregateTotal;
 import com.nadia.pos.model.BaseEntity;
-import com.nadia.pos.utils.DatabaseUtil;
+import com.nadia.pos.utils.ChangeNotificationListener;
+import com.nadia.pos.utils.TransactionManager;
 
 import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public abstract class BaseDAOImpl<T extends BaseEntity> implements BaseDAO<T> {
-    protected final Connection connection;
+    protected static final int STREAM_FETCH_SIZE = 500;
+
     protected final String tableName;
+    private int updateIdParameterIndex;
+
+    @FunctionalInterface
+    protected interface ParameterBinder {
+        void bind(PreparedStatement stmt) throws SQLException;
+    }
+
+    @FunctionalInterface
+    protected interface GroupKeyReader<K> {
+        K read(ResultSet rs, String column) throws SQLException;
+    }
 
-    protected BaseDAOImpl(String tableName) throws SQLException {
-        this.connection = DatabaseUtil.getConnection();
+    protected BaseDAOImpl(String tableName) {
         this.tableName = tableName;
     }
 
+    /**
+     * Borrows a connection from the pool for a single operation, or joins the transaction
+     * bound to the current thread. Callers must close it (try-with-resources) so it is
+     * returned to the pool as soon as the operation is done.
+     */
+    protected Connection getConnection() throws SQLException {
+        return TransactionManager.getConnection();
+    }
+
     protected abstract T mapResultSetToEntity(ResultSet rs) throws SQLException;
     protected abstract void setStatementParameters(PreparedStatement stmt, T entity) throws SQLException;
     protected abstract String getInsertQuery();
@@ -26,7 +53,8 @@ public abstract class BaseDAOImpl<T extends BaseEntity> implements BaseDAO<T> {
     public T save(T entity) {
         try {
             if (entity.getId() == null) {
-                try (PreparedStatement stmt = connection.prepareStatement(getInsertQuery(), Statement.RETURN_GENERATED_KEYS)) {
+                try (Connection connection = getConnection();
+                     PreparedStatement stmt = connection.prepareStatement(getInsertQuery(), Statement.RETURN_GENERATED_KEYS)) {
                     setStatementParameters(stmt, entity);
                     stmt.executeUpdate();
 
@@ -35,6 +63,7 @@ public abstract class BaseDAOImpl<T extends BaseEntity> implements BaseDAO<T> {
                             entity.setId(generatedKeys.getLong(1));
                         }
                     }
+                    publishChanges(connection, List.of(entity.getId()));
                 }
             } else {
                 update(entity);
@@ -47,47 +76,363 @@ public abstract class BaseDAOImpl<T extends BaseEntity> implements BaseDAO<T> {
         }
     }
 
+    @Override
+    public List<T> saveAll(List<T> entities) {
+        List<T> newEntities = new ArrayList<>();
+        for (T entity : entities) {
+            if (entity.getId() == null) {
+                newEntities.add(entity);
+            } else {
+                update(entity);
+            }
+        }
+        if (newEntities.isEmpty()) {
+            return entities;
+        }
+
+        // One batched round trip for all new rows; generated keys come back in insert order
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(getInsertQuery(), Statement.RETURN_GENERATED_KEYS)) {
+            for (T entity : newEntities) {
+                setStatementParameters(stmt, entity);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+
+            List<Long> ids = new ArrayList<>();
+            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                int index = 0;
+                while (generatedKeys.next() && index < newEntities.size()) {
+                    long id = generatedKeys.getLong(1);
+                    newEntities.get(index++).setId(id);
+                    ids.add(id);
+                }
+            }
+            publishChanges(connection, ids);
+            return entities;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new RuntimeException("Error batch saving entities to " + tableName, e);
+        }
+    }
+
+    /**
+     * Inserts the entity unless it collides with an existing row on a unique constraint, in a
+     * single round trip. Returns empty on conflict so callers can report the duplicate without
+     * a separate existence check. With no columns given, any unique constraint counts.
+     */
+    @Override
+    public Optional<T> insertIfAbsent(T entity, String... conflictColumns) {
+        String target = conflictColumns.length == 0 ? "" : "(" + String.join(", ", conflictColumns) + ") ";
+        return insertOnConflict(entity, " ON CONFLICT " + target + "DO NOTHING");
+    }
+
+    @Override
+    public T upsert(T entity, String... conflictColumns) {
+        if (conflictColumns.length == 0) {
+            throw new IllegalArgumentException("Upsert on " + tableName + " needs at least one conflict column");
+        }
+        List<String> conflicts = List.of(conflictColumns);
+        List<String> assignments = new ArrayList<>();
+        for (String column : getInsertColumns()) {
+            if (!conflicts.contains(column) && !column.equals("created_at")) {
+                assignments.add(column + " = EXCLUDED." + column);
+            }
+        }
+        return insertOnConflict(entity, " ON CONFLICT (" + String.join(", ", conflictColumns) + ") " +
+                "DO UPDATE SET " + String.join(", ", assignments))
+                .orElseThrow(() -> new RuntimeException("Upsert into " + tableName + " returned no row"));
+    }
+
+    private Optional<T> insertOnConflict(T entity, String conflictClause) {
+        String query = getInsertQuery() + conflictClause + " RETURNING id";
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
+            setStatementParameters(stmt, entity);
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) {
+                entity.setId(rs.getLong("id"));
+                publishChanges(connection, List.of(entity.getId()));
+                return Optional.of(entity);
+            }
+            return Optional.empty();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error inserting entity into " + tableName, e);
+        }
+    }
+
+    /**
+     * Column names from the column list of {@link #getInsertQuery()}, in placeholder order.
+     */
+    protected List<String> getInsertColumns() {
+        String insertQuery = getInsertQuery();
+        String columns = insertQuery.substring(insertQuery.indexOf('(') + 1, insertQuery.indexOf(')'));
+        List<String> result = new ArrayList<>();
+        for (String column : columns.split(",")) {
+            result.add(column.trim());
+        }
+        return result;
+    }
+
     @Override
     public T update(T entity) {
-        try (PreparedStatement stmt = connection.prepareStatement(getUpdateQuery())) {
+        int updatedRows;
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(getUpdateQuery())) {
             setStatementParameters(stmt, entity);
-            stmt.setLong(stmt.getParameterMetaData().getParameterCount(), entity.getId());
-            stmt.executeUpdate();
+            stmt.setLong(getUpdateIdParameterIndex(), entity.getId());
+            updatedRows = stmt.executeUpdate();
+            if (updatedRows > 0) {
+                publishChanges(connection, List.of(entity.getId()));
+            }
         } catch (SQLException e) {
             throw new RuntimeException("Error updating entity in " + tableName, e);
         }
-        return null;
+        if (updatedRows == 0) {
+            throw new RuntimeException("No row in " + tableName + " with ID: " + entity.getId());
+        }
+        return entity;
+    }
+
+    /**
+     * Whether writes to this table are announced on {@link ChangeNotificationListener#CHANNEL}
+     * so other terminals can evict cached rows. Off by default; tables backing a cache opt in.
+     */
+    protected boolean publishesChanges() {
+        return false;
+    }
+
+    /**
+     * Sends one NOTIFY per changed row with payload "table:id". Inside a transaction PostgreSQL
+     * delivers them only on commit, so listeners never see rolled-back writes. Subclasses call it
+     * from their own bulk updates.
+     */
+    protected void publishChanges(Connection connection, Collection<Long> ids) throws SQLException {
+        if (!publishesChanges() || ids.isEmpty()) {
+            return;
+        }
+        String query = "SELECT pg_notify('" + ChangeNotificationListener.CHANNEL + "', ? || ':' || id) " +
+                "FROM unnest(?) AS id";
+        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+            stmt.setString(1, tableName);
+            stmt.setArray(2, connection.createArrayOf("bigint", ids.toArray()));
+            stmt.executeQuery();
+        }
+    }
+
+    /**
+     * Position of the id placeholder in the update query. Every update query ends with
+     * "WHERE id=?", so it is the last parameter; counting placeholders in the SQL text avoids
+     * asking the driver for parameter metadata, which costs a describe round trip.
+     */
+    protected int getUpdateIdParameterIndex() {
+        if (updateIdParameterIndex == 0) {
+            updateIdParameterIndex = (int) getUpdateQuery().chars().filter(c -> c == '?').count();
+        }
+        return updateIdParameterIndex;
     }
 
     @Override
     public Optional<T> findById(Long id) {
-        String query = "SELECT * FROM " + tableName + " WHERE id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        String query = "SELECT " + getSelectColumns() + " FROM " + tableName + " WHERE id = ?";
+        T entity = null;
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setLong(1, id);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
-                return Optional.of(mapResultSetToEntity(rs));
+                entity = mapResultSetToEntity(rs);
             }
-            return Optional.empty();
         } catch (SQLException e) {
             throw new RuntimeException("Error finding entity by ID from " + tableName, e);
         }
+        if (entity == null) {
+            return Optional.empty();
+        }
+        return Optional.of(loadReferences(List.of(entity)).get(0));
+    }
+
+    @Override
+    public List<T> findByIds(Collection<Long> ids) {
+        List<T> entities = new ArrayList<>();
+        if (ids.isEmpty()) {
+            return entities;
+        }
+        String query = "SELECT " + getSelectColumns() + " FROM " + tableName + " WHERE id = ANY(?)";
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
+            stmt.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                entities.add(mapResultSetToEntity(rs));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding entities by IDs from " + tableName, e);
+        }
+        return loadReferences(entities);
     }
 
     @Override
     public List<T> findAll() {
         List<T> entities = new ArrayList<T>();
-        String query = "SELECT * FROM " + tableName;
-        try (Statement stmt = connection.createStatement();
+        String query = "SELECT " + getSelectColumns() + " FROM " + tableName;
+        try (Connection connection = getConnection();
+             Statement stmt = connection.createStatement();
              ResultSet rs = stmt.executeQuery(query)) {
             while (rs.next()) {
                 entities.add(mapResultSetToEntity(rs));
             }
-            return entities;
         } catch (SQLException e) {
             e.printStackTrace();
             throw new RuntimeException("Error finding all entities from " + tableName, e);
         }
+        return loadReferences(entities);
+    }
+
+    /**
+     * Keyset pagination on the primary key: returns up to {@code limit} rows that sort after
+     * {@code afterId}, or the first page when it is null. Unlike OFFSET the cost of a page does
+     * not grow with how far the caller has scrolled.
+     */
+    @Override
+    public List<T> findPage(Long afterId, int limit, SortDirection sort) {
+        List<T> entities = new ArrayList<>();
+        boolean descending = sort == SortDirection.DESCENDING;
+        String query = "SELECT " + getSelectColumns() + " FROM " + tableName +
+                (afterId != null ? " WHERE id " + (descending ? "<" : ">") + " ?" : "") +
+                " ORDER BY id " + (descending ? "DESC" : "ASC") + " LIMIT ?";
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
+            int paramIndex = 1;
+            if (afterId != null) {
+                stmt.setLong(paramIndex++, afterId);
+            }
+            stmt.setInt(paramIndex, limit);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                entities.add(mapResultSetToEntity(rs));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding page of entities from " + tableName, e);
+        }
+        return loadReferences(entities);
+    }
+
+    @Override
+    public void forEach(Consumer<? super T> consumer) {
+        streamQuery("SELECT " + getSelectColumns() + " FROM " + tableName + " ORDER BY id", stmt -> {
+        }, consumer);
+    }
+
+    /**
+     * Runs the query on a server-side cursor and hands rows to the consumer in fetch-size
+     * batches, so memory stays flat however many rows match. PostgreSQL only honours the fetch
+     * size with autocommit off, hence the transaction.
+     */
+    protected void streamQuery(String query, ParameterBinder binder, Consumer<? super T> consumer) {
+        TransactionManager.run(() -> {
+            try (Connection connection = getConnection();
+                 PreparedStatement stmt = connection.prepareStatement(query)) {
+                binder.bind(stmt);
+                stmt.setFetchSize(STREAM_FETCH_SIZE);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    List<T> batch = new ArrayList<>(STREAM_FETCH_SIZE);
+                    while (rs.next()) {
+                        batch.add(mapResultSetToEntity(rs));
+                        if (batch.size() == STREAM_FETCH_SIZE) {
+                            loadReferences(batch).forEach(consumer);
+                            batch.clear();
+                        }
+                    }
+                    loadReferences(batch).forEach(consumer);
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException("Error streaming entities from " + tableName, e);
+            }
+        });
+    }
+
+    /**
+     * Runs COUNT/SUM/AVG of the amount column grouped by the key expression, so totals are
+     * computed by the database and only one small row per group crosses the wire.
+     */
+    protected <K> List<AggregateTotal<K>> aggregate(String fromTable, String keyExpression, String amountColumn,
+                                                    String condition, ParameterBinder binder,
+                                                    GroupKeyReader<K> keyReader) {
+        String query = "SELECT " + keyExpression + " AS group_key, COUNT(*) AS row_count, " +
+                "COALESCE(SUM(" + amountColumn + "), 0) AS total, " +
+                "COALESCE(ROUND(AVG(" + amountColumn + "), 2), 0) AS average " +
+                "FROM " + fromTable + " WHERE " + condition + " GROUP BY 1 ORDER BY 1";
+        List<AggregateTotal<K>> totals = new ArrayList<>();
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
+            binder.bind(stmt);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                totals.add(new AggregateTotal<>(
+                        keyReader.read(rs, "group_key"),
+                        rs.getLong("row_count"),
+                        rs.getBigDecimal("total"),
+                        rs.getBigDecimal("average")));
+            }
+            return totals;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error aggregating " + fromTable, e);
+        }
+    }
+
+    /**
+     * {@link #aggregate} over the rows whose date column lies in [start, end) and, when a status
+     * is given, whose status column matches it: the shape every order and payment report uses.
+     */
+    protected <K> List<AggregateTotal<K>> aggregate(String fromTable, String keyExpression, String amountColumn,
+                                                    String dateColumn, LocalDateTime start, LocalDateTime end,
+                                                    Enum<?> status, GroupKeyReader<K> keyReader) {
+        String condition = dateColumn + " >= ? AND " + dateColumn + " < ?" + (status != null ? " AND status = ?" : "");
+        return aggregate(fromTable, keyExpression, amountColumn, condition, stmt -> {
+            stmt.setTimestamp(1, Timestamp.valueOf(start));
+            stmt.setTimestamp(2, Timestamp.valueOf(end));
+            if (status != null) {
+                stmt.setString(3, status.name());
+            }
+        }, keyReader);
+    }
+
+    protected List<AggregateTotal<LocalDate>> aggregateByDay(String dateColumn, String amountColumn,
+                                                             LocalDateTime start, LocalDateTime end, Enum<?> status) {
+        return aggregate(tableName, dateColumn + "::date", amountColumn, dateColumn, start, end, status,
+                (rs, column) -> rs.getDate(column).toLocalDate());
+    }
+
+    protected List<AggregateTotal<Long>> aggregateByEmployee(String employeeColumn, String dateColumn,
+                                                             String amountColumn, LocalDateTime start,
+                                                             LocalDateTime end, Enum<?> status) {
+        return aggregate(tableName, employeeColumn, amountColumn, dateColumn, start, end, status,
+                (rs, column) -> rs.getLong(column));
+    }
+
+    protected <S extends Enum<S>> List<AggregateTotal<S>> aggregateByStatus(String dateColumn, String amountColumn,
+                                                                            LocalDateTime start, LocalDateTime end,
+                                                                            Class<S> statusType) {
+        return aggregate(tableName, "status", amountColumn, dateColumn, start, end, null,
+                (rs, column) -> Enum.valueOf(statusType, rs.getString(column)));
+    }
+
+    /**
+     * Column list used by the generic finders. Subclasses narrow it to keep large columns out of
+     * list and lookup queries.
+     */
+    protected String getSelectColumns() {
+        return "*";
+    }
+
+    /**
+     * Resolves associations for a batch of freshly mapped rows. Called once per query after the
+     * connection has been released, so subclasses can replace id-only stubs with one bulk
+     * lookup instead of a query per row.
+     */
+    protected List<T> loadReferences(List<T> entities) {
+        return entities;
     }
 
     @Override
@@ -100,9 +445,12 @@ public abstract class BaseDAOImpl<T extends BaseEntity> implements BaseDAO<T> {
     @Override
     public void deleteById(Long id) {
         String query = "DELETE FROM " + tableName + " WHERE id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setLong(1, id);
-            stmt.executeUpdate();
+            if (stmt.executeUpdate() > 0) {
+                publishChanges(connection, List.of(id));
+            }
         } catch (SQLException e) {
             throw new RuntimeException("Error deleting entity from " + tableName, e);
         }
@@ -111,7 +459,8 @@ public abstract class BaseDAOImpl<T extends BaseEntity> implements BaseDAO<T> {
     @Override
     public boolean exists(Long id) {
         String query = "SELECT COUNT(*) FROM " + tableName + " WHERE id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setLong(1, id);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
@@ -1,11 +1,15 @@
 package com.nadia.pos.dao;
 
+import com.nadia.pos.enums.PaymentStatus;
+import com.nadia.pos.model.AggregateTotal;
 import com.nadia.pos.model.CardPayment;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 public interface CardPaymentDAO extends PaymentDAO<CardPayment> {
     Optional<CardPayment> findByAuthorizationCode(String authCode);
     List<CardPayment> findByCardType(String cardType);
+    List<AggregateTotal<String>> sumByCardType(LocalDateTime start, LocalDateTime end, PaymentStatus status);
 }
\ No newline at end of file
@@ -1,9 +1,13 @@
 package com.nadia.pos.dao;
 
 import com.nadia.pos.model.Inventory;
+import com.nadia.pos.model.StockLevel;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 public interface InventoryDAO extends BaseDAO<Inventory> {
     Inventory findByProduct(Long productId) throws SQLException;
@@ -11,4 +15,32 @@ public interface InventoryDAO extends BaseDAO<Inventory> {
     String getFindAllQuery();
 
     List<Inventory> findLowStock() throws SQLException;
+
+    /**
+     * Adds delta to the product's stock in a single conditional UPDATE, so concurrent movements on
+     * the same product can neither lose an update nor drive the stock negative or past its
+     * maximum. Returns the new stock level, or empty if the product has no inventory row or the
+     * change would break a limit.
+     */
+    Optional<StockLevel> adjustQuantity(Long productId, int delta, boolean restock);
+
+    /**
+     * Applies many stock changes in one statement, with the same limits as
+     * {@link #adjustQuantity}. Returns the new stock level of each product that was updated;
+     * products missing from the result were refused.
+     */
+    Map<Long, StockLevel> adjustQuantities(Map<Long, Integer> deltasByProduct, boolean restock);
+
+    /**
+     * Active inventory rows whose product code or barcode is one of the given codes, with the
+     * product's code, barcode, name and cost price filled in.
+     */
+    List<Inventory> findByProductCodes(Collection<String> codes);
+
+    /**
+     * Applies counted stock differences, keyed by inventory id, in one statement and stamps the
+     * stock check date. A row the difference would take below zero is left unchanged and missing
+     * from the result. Returns the new stock level per inventory id.
+     */
+    Map<Long, StockLevel> applyStockCheck(Map<Long, Integer> deltasByInventory);
 }
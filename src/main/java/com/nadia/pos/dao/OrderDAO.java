@@ -1,7 +1,9 @@
 package com.nadia.pos.dao;
 
 import com.nadia.pos.enums.OrderStatus;
+import com.nadia.pos.model.AggregateTotal;
 import com.nadia.pos.model.Order;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -11,4 +13,9 @@ public interface OrderDAO<T extends Order> extends BaseDAO<T> {
     List<T> findByDateRange(LocalDateTime start, LocalDateTime end);
     List<T> findByStatus(OrderStatus status);
     List<T> findByEmployee(Long employeeId);
+
+    // Aggregates cover [start, end) and only rows in the given status
+    List<AggregateTotal<LocalDate>> sumByDay(LocalDateTime start, LocalDateTime end, OrderStatus status);
+    List<AggregateTotal<Long>> sumByEmployee(LocalDateTime start, LocalDateTime end, OrderStatus status);
+    List<AggregateTotal<OrderStatus>> sumByStatus(LocalDateTime start, LocalDateTime end);
 }
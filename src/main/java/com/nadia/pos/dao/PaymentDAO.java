@@ -1,7 +1,9 @@
 package com.nadia.pos.dao;
 
+import com.nadia.pos.model.AggregateTotal;
 import com.nadia.pos.model.Payment;
 import com.nadia.pos.enums.PaymentStatus;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -11,4 +13,9 @@ public interface PaymentDAO<T extends Payment> extends BaseDAO<T> {
     List<T> findByDateRange(LocalDateTime start, LocalDateTime end);
     List<T> findByEmployee(Long employeeId);
     Optional<T> findByReference(String referenceNumber);
+
+    // Aggregates cover [start, end) and only rows in the given status
+    List<AggregateTotal<LocalDate>> sumByDay(LocalDateTime start, LocalDateTime end, PaymentStatus status);
+    List<AggregateTotal<Long>> sumByEmployee(LocalDateTime start, LocalDateTime end, PaymentStatus status);
+    List<AggregateTotal<PaymentStatus>> sumByStatus(LocalDateTime start, LocalDateTime end);
 }
\ No newline at end of file
@@ -6,10 +6,10 @@ import java.util.List;
 import java.util.Optional;
 
 public interface ProductDAO extends BaseDAO<Product> {
+    byte[] loadImage(Long productId);
     Optional<Product> findByCode(String code);
     Optional<Product> findByBarcode(String barcode);
     List<Product> findByCategory(String category);
     List<Product> searchByName(String namePattern);
     List<Product> findLowStock();
-    boolean updateStockQuantity(Long productId, Integer quantity);
 }
@@ -9,4 +9,9 @@ public interface PurchaseOrderDAO extends BaseDAO<PurchaseOrder> {
     List<PurchaseOrder> findByDateRange(LocalDateTime startDate, LocalDateTime endDate);
     List<PurchaseOrder> findPendingDeliveries();
     List<PurchaseOrder> findByStatus(String status);
+
+    /**
+     * Marks the order completed if every line has been fully received.
+     */
+    boolean completeIfFullyReceived(Long purchaseOrderId);
 }
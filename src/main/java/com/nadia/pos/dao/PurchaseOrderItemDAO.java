@@ -3,9 +3,16 @@ package com.nadia.pos.dao;
 import com.nadia.pos.model.OrderItem;
 import com.nadia.pos.model.PurchaseOrderItem;
 import java.util.List;
+import java.util.Map;
 
 public interface PurchaseOrderItemDAO extends BaseDAO<PurchaseOrderItem> {
     List<OrderItem> findByPurchaseOrder(Long purchaseOrderId);
     List<PurchaseOrderItem> findUnreceivedItems(Long purchaseOrderId);
     boolean updateReceivedQuantity(Long itemId, Integer quantity);
+
+    /**
+     * Adds to the received quantity of many lines in one statement, marking lines received once
+     * complete. Returns the number of lines updated.
+     */
+    int addReceivedQuantities(Map<Long, Integer> quantitiesByItem);
 }
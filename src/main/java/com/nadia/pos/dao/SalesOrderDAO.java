@@ -1,7 +1,10 @@
 package com.nadia.pos.dao;
 
+import com.nadia.pos.enums.OrderStatus;
+import com.nadia.pos.model.AggregateTotal;
 import com.nadia.pos.model.SalesOrder;
 import com.nadia.pos.enums.SalesType;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -10,4 +13,9 @@ public interface SalesOrderDAO extends BaseDAO<SalesOrder> {
     List<SalesOrder> findByType(SalesType type);
     List<SalesOrder> findByDateRange(LocalDateTime startDate, LocalDateTime endDate);
     List<SalesOrder> findPendingDeliveries();
+
+    // Aggregates cover [start, end) and only rows in the given status
+    List<AggregateTotal<LocalDate>> sumByDay(LocalDateTime start, LocalDateTime end, OrderStatus status);
+    List<AggregateTotal<Long>> sumByEmployee(LocalDateTime start, LocalDateTime end, OrderStatus status);
+    List<AggregateTotal<OrderStatus>> sumByStatus(LocalDateTime start, LocalDateTime end);
 }
\ No newline at end of file
@@ -2,9 +2,12 @@ package com.nadia.pos.dao;
 
 import com.nadia.pos.model.OrderItem;
 import com.nadia.pos.model.SalesOrderItem;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface SalesOrderItemDAO extends BaseDAO<SalesOrderItem> {
     List<OrderItem> findBySalesOrder(Long salesOrderId);
+    Map<Long, List<OrderItem>> findBySalesOrders(Collection<Long> salesOrderIds);
     List<SalesOrderItem> findByProduct(Long productId);
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.nadia.pos.dao;
+
+import com.nadia.pos.model.SalesPeriodTotal;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SalesSummaryDAO {
+    void addToDay(LocalDate saleDate, long orderId, int orderCountDelta, BigDecimal amountDelta);
+    List<SalesPeriodTotal> findMonthlyTotals(LocalDate fromInclusive, LocalDate toExclusive);
+    SalesPeriodTotal findOverallTotal();
+}
@@ -2,12 +2,15 @@ package com.nadia.pos.dao.impl;
 
 import com.nadia.pos.dao.CardPaymentDAO;
 import com.nadia.pos.enums.PaymentStatus;
+import com.nadia.pos.model.AggregateTotal;
 import com.nadia.pos.model.CardPayment;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -58,7 +61,8 @@ public class CardPaymentDAOImpl extends PaymentDAOImpl<CardPayment> implements C
     @Override
     public Optional<CardPayment> findByAuthorizationCode(String authCode) {
         String query = "SELECT * FROM card_payments WHERE authorization_code = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setString(1, authCode);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
@@ -74,7 +78,8 @@ public class CardPaymentDAOImpl extends PaymentDAOImpl<CardPayment> implements C
     public List<CardPayment> findByCardType(String cardType) {
         List<CardPayment> payments = new ArrayList<>();
         String query = "SELECT * FROM card_payments WHERE card_type = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setString(1, cardType);
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
@@ -85,4 +90,9 @@ public class CardPaymentDAOImpl extends PaymentDAOImpl<CardPayment> implements C
             throw new RuntimeException("Error finding payments by card type", e);
         }
     }
+
+    @Override
+    public List<AggregateTotal<String>> sumByCardType(LocalDateTime start, LocalDateTime end, PaymentStatus status) {
+        return aggregate("card_payments", "card_type", "amount", "created_at", start, end, status, ResultSet::getString);
+    }
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import com.nadia.pos.enums.PaymentStatus;
 import com.nadia.pos.model.CashPayment;
 
 import java.math.BigDecimal;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -58,7 +59,8 @@ public class CashPaymentDAOImpl extends PaymentDAOImpl<CashPayment> implements C
     public List<CashPayment> findByChangeAmount(BigDecimal minAmount) {
         List<CashPayment> payments = new ArrayList<>();
         String query = "SELECT * FROM cash_payments WHERE change_amount >= ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setBigDecimal(1, minAmount);
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
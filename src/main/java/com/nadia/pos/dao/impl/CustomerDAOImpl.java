@@ -58,10 +58,16 @@ public class CustomerDAOImpl extends BaseDAOImpl<Customer> implements CustomerDA
                 "updated_at=? WHERE id=?";
     }
 
+    @Override
+    protected boolean publishesChanges() {
+        return true;
+    }
+
     @Override
     public Optional<Customer> findByCode(String code) {
         String query = "SELECT * FROM customers WHERE code = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setString(1, code);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
@@ -76,7 +82,8 @@ public class CustomerDAOImpl extends BaseDAOImpl<Customer> implements CustomerDA
     @Override
     public Optional<Customer> findByPhone(String phone) {
         String query = "SELECT * FROM customers WHERE phone = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setString(1, phone);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
@@ -91,7 +98,8 @@ public class CustomerDAOImpl extends BaseDAOImpl<Customer> implements CustomerDA
     @Override
     public Optional<Customer> findByEmail(String email) {
         String query = "SELECT * FROM customers WHERE email = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setString(1, email);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
@@ -107,7 +115,8 @@ public class CustomerDAOImpl extends BaseDAOImpl<Customer> implements CustomerDA
     public List<Customer> findByType(CustomerType type) {
         List<Customer> customers = new ArrayList<>();
         String query = "SELECT * FROM customers WHERE type = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setString(1, type.name());
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
@@ -123,7 +132,8 @@ public class CustomerDAOImpl extends BaseDAOImpl<Customer> implements CustomerDA
     public List<Customer> searchByName(String namePattern) {
         List<Customer> customers = new ArrayList<>();
         String query = "SELECT * FROM customers WHERE name LIKE ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setString(1, "%" + namePattern + "%");
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
@@ -139,7 +149,8 @@ public class CustomerDAOImpl extends BaseDAOImpl<Customer> implements CustomerDA
     public List<Customer> findCustomersExceedingCredit() {
         List<Customer> customers = new ArrayList<>();
         String query = "SELECT * FROM customers WHERE current_credit > credit_limit";
-        try (Statement stmt = connection.createStatement();
+        try (Connection connection = getConnection();
+             Statement stmt = connection.createStatement();
              ResultSet rs = stmt.executeQuery(query)) {
             while (rs.next()) {
                 customers.add(mapResultSetToEntity(rs));
@@ -72,10 +72,16 @@ public class EmployeeDAOImpl extends BaseDAOImpl<Employee> implements EmployeeDA
                 "username=?, password=?, updated_at=? WHERE id=?";
     }
 
+    @Override
+    protected boolean publishesChanges() {
+        return true;
+    }
+
     @Override
     public Optional<Employee> findByEmployeeId(String employeeId) {
         String query = "SELECT * FROM employees WHERE employee_id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setString(1, employeeId);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
@@ -90,7 +96,8 @@ public class EmployeeDAOImpl extends BaseDAOImpl<Employee> implements EmployeeDA
     @Override
     public Optional<Employee> findByUsername(String username) {
         String query = "SELECT * FROM employees WHERE username = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setString(1, username);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
@@ -105,7 +112,8 @@ public class EmployeeDAOImpl extends BaseDAOImpl<Employee> implements EmployeeDA
     @Override
     public Optional<Employee> findByEmail(String email) {
         String query = "SELECT * FROM employees WHERE email = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setString(1, email);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
@@ -121,7 +129,8 @@ public class EmployeeDAOImpl extends BaseDAOImpl<Employee> implements EmployeeDA
     public List<Employee> findByDepartment(String department) {
         List<Employee> employees = new ArrayList<>();
         String query = "SELECT * FROM employees WHERE department = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setString(1, department);
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
@@ -4,12 +4,18 @@ import com.nadia.pos.dao.BaseDAOImpl;
 import com.nadia.pos.dao.InventoryDAO;
 import com.nadia.pos.model.Inventory;
 import com.nadia.pos.model.Product;
+import com.nadia.pos.model.StockLevel;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 public class InventoryDAOImpl extends BaseDAOImpl<Inventory> implements InventoryDAO {
+    private static final String STOCK_LEVEL_COLUMNS = "i.id, i.product_id, i.quantity, i.minimum_stock, i.is_active";
 
     public InventoryDAOImpl() throws SQLException {
         super("inventory");
@@ -61,6 +67,11 @@ public class InventoryDAOImpl extends BaseDAOImpl<Inventory> implements Inventor
         stmt.setTimestamp(9, Timestamp.valueOf(inventory.getUpdatedAt()));
     }
 
+    @Override
+    protected boolean publishesChanges() {
+        return true;
+    }
+
     @Override
     protected String getInsertQuery() {
         return "INSERT INTO inventory (product_id, quantity, minimum_stock, maximum_stock, " +
@@ -82,7 +93,8 @@ public class InventoryDAOImpl extends BaseDAOImpl<Inventory> implements Inventor
                 "JOIN products p ON i.product_id = p.id " +
                 "WHERE i.product_id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setLong(1, productId);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
@@ -110,7 +122,8 @@ public class InventoryDAOImpl extends BaseDAOImpl<Inventory> implements Inventor
                 "WHERE i.quantity <= i.minimum_stock AND i.is_active = true";
 
         List<Inventory> lowStockItems = new ArrayList<>();
-        try (Statement stmt = connection.createStatement();
+        try (Connection connection = getConnection();
+             Statement stmt = connection.createStatement();
              ResultSet rs = stmt.executeQuery(query)) {
             while (rs.next()) {
                 lowStockItems.add(mapResultSetToEntity(rs));
@@ -120,4 +133,124 @@ public class InventoryDAOImpl extends BaseDAOImpl<Inventory> implements Inventor
             throw new RuntimeException("Error finding low stock inventory items", e);
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public Optional<StockLevel> adjustQuantity(Long productId, int delta, boolean restock) {
+        String query = "UPDATE inventory i SET quantity = i.quantity + ?, updated_at = NOW(), " +
+                "last_restock_date = CASE WHEN ? THEN NOW() ELSE i.last_restock_date END " +
+                "WHERE i.product_id = ? AND i.quantity + ? >= 0 " +
+                "AND (i.maximum_stock IS NULL OR i.maximum_stock <= 0 OR i.quantity + ? <= i.maximum_stock) " +
+                "RETURNING " + STOCK_LEVEL_COLUMNS;
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
+            stmt.setInt(1, delta);
+            stmt.setBoolean(2, restock);
+            stmt.setLong(3, productId);
+            stmt.setInt(4, delta);
+            stmt.setInt(5, delta);
+            ResultSet rs = stmt.executeQuery();
+            if (!rs.next()) {
+                return Optional.empty();
+            }
+            publishChanges(connection, List.of(rs.getLong("id")));
+            return Optional.of(mapStockLevel(rs));
+        } catch (SQLException e) {
+            throw new RuntimeException("Error adjusting inventory quantity", e);
+        }
+    }
+
+    @Override
+    public Map<Long, StockLevel> adjustQuantities(Map<Long, Integer> deltasByProduct, boolean restock) {
+        Map<Long, StockLevel> newLevels = new HashMap<>();
+        if (deltasByProduct.isEmpty()) {
+            return newLevels;
+        }
+        String query = "UPDATE inventory i SET quantity = i.quantity + d.delta, updated_at = NOW(), " +
+                "last_restock_date = CASE WHEN ? THEN NOW() ELSE i.last_restock_date END " +
+                "FROM unnest(?::bigint[], ?::integer[]) AS d(product_id, delta) " +
+                "WHERE i.product_id = d.product_id AND i.quantity + d.delta >= 0 " +
+                "AND (i.maximum_stock IS NULL OR i.maximum_stock <= 0 OR i.quantity + d.delta <= i.maximum_stock) " +
+                "RETURNING " + STOCK_LEVEL_COLUMNS;
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
+            stmt.setBoolean(1, restock);
+            stmt.setArray(2, connection.createArrayOf("bigint", deltasByProduct.keySet().toArray()));
+            stmt.setArray(3, connection.createArrayOf("integer", deltasByProduct.values().toArray()));
+            ResultSet rs = stmt.executeQuery();
+            List<Long> changedIds = new ArrayList<>();
+            while (rs.next()) {
+                StockLevel level = mapStockLevel(rs);
+                newLevels.put(level.getProductId(), level);
+                changedIds.add(rs.getLong("id"));
+            }
+            publishChanges(connection, changedIds);
+            return newLevels;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error adjusting inventory quantities", e);
+        }
+    }
+
+    @Override
+    public List<Inventory> findByProductCodes(Collection<String> codes) {
+        List<Inventory> items = new ArrayList<>();
+        if (codes.isEmpty()) {
+            return items;
+        }
+        String query = "SELECT i.*, p.code AS product_code, p.barcode AS product_barcode, " +
+                "p.name AS product_name, p.cost_price AS product_cost_price " +
+                "FROM inventory i " +
+                "JOIN products p ON i.product_id = p.id " +
+                "WHERE i.is_active = true AND (p.code = ANY(?) OR p.barcode = ANY(?))";
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
+            Array codeArray = connection.createArrayOf("varchar", codes.toArray());
+            stmt.setArray(1, codeArray);
+            stmt.setArray(2, codeArray);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                Inventory inventory = mapResultSetToEntity(rs);
+                Product product = inventory.getProduct();
+                product.setCode(rs.getString("product_code"));
+                product.setBarcode(rs.getString("product_barcode"));
+                product.setName(rs.getString("product_name"));
+                product.setCostPrice(rs.getBigDecimal("product_cost_price"));
+                items.add(inventory);
+            }
+            return items;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding inventory by product codes", e);
+        }
+    }
+
+    @Override
+    public Map<Long, StockLevel> applyStockCheck(Map<Long, Integer> deltasByInventory) {
+        Map<Long, StockLevel> newLevels = new HashMap<>();
+        if (deltasByInventory.isEmpty()) {
+            return newLevels;
+        }
+        // Differences rather than absolute counts, so sales made since the count was read survive
+        String query = "UPDATE inventory i SET quantity = i.quantity + c.delta, " +
+                "last_stock_check_date = NOW(), updated_at = NOW() " +
+                "FROM unnest(?::bigint[], ?::integer[]) AS c(inventory_id, delta) " +
+                "WHERE i.id = c.inventory_id AND i.quantity + c.delta >= 0 " +
+                "RETURNING " + STOCK_LEVEL_COLUMNS;
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
+            stmt.setArray(1, connection.createArrayOf("bigint", deltasByInventory.keySet().toArray()));
+            stmt.setArray(2, connection.createArrayOf("integer", deltasByInventory.values().toArray()));
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                newLevels.put(rs.getLong("id"), mapStockLevel(rs));
+            }
+            publishChanges(connection, newLevels.keySet());
+            return newLevels;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error applying stock check", e);
+        }
+    }
+
+    private StockLevel mapStockLevel(ResultSet rs) throws SQLException {
+        return new StockLevel(rs.getLong("product_id"), rs.getInt("quantity"),
+                rs.getInt("minimum_stock"), rs.getBoolean("is_active"));
+    }
+}
@@ -2,11 +2,13 @@ package com.nadia.pos.dao.impl;
 
 import com.nadia.pos.dao.BaseDAOImpl;
 import com.nadia.pos.dao.OrderDAO;
+import com.nadia.pos.model.AggregateTotal;
 import com.nadia.pos.model.Order;
 import com.nadia.pos.model.OrderItem;
 import com.nadia.pos.enums.OrderStatus;
 
 import java.sql.*;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -47,7 +49,8 @@ public class OrderDAOImpl<T extends Order> extends BaseDAOImpl<T> implements Ord
     @Override
     public Optional<T> findByOrderNumber(String orderNumber) {
         String query = "SELECT * FROM orders WHERE order_number = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setString(1, orderNumber);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
@@ -63,7 +66,8 @@ public class OrderDAOImpl<T extends Order> extends BaseDAOImpl<T> implements Ord
     public List<T> findByDateRange(LocalDateTime start, LocalDateTime end) {
         List<T> orders = new ArrayList<>();
         String query = "SELECT * FROM orders WHERE order_date BETWEEN ? AND ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setTimestamp(1, Timestamp.valueOf(start));
             stmt.setTimestamp(2, Timestamp.valueOf(end));
             ResultSet rs = stmt.executeQuery();
@@ -80,7 +84,8 @@ public class OrderDAOImpl<T extends Order> extends BaseDAOImpl<T> implements Ord
     public List<T> findByStatus(OrderStatus status) {
         List<T> orders = new ArrayList<>();
         String query = "SELECT * FROM orders WHERE status = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setString(1, status.name());
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
@@ -96,7 +101,8 @@ public class OrderDAOImpl<T extends Order> extends BaseDAOImpl<T> implements Ord
     public List<T> findByEmployee(Long employeeId) {
         List<T> orders = new ArrayList<>();
         String query = "SELECT * FROM orders WHERE created_by = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setLong(1, employeeId);
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
@@ -108,10 +114,26 @@ public class OrderDAOImpl<T extends Order> extends BaseDAOImpl<T> implements Ord
         }
     }
 
+    @Override
+    public List<AggregateTotal<LocalDate>> sumByDay(LocalDateTime start, LocalDateTime end, OrderStatus status) {
+        return aggregateByDay("order_date", "total_amount", start, end, status);
+    }
+
+    @Override
+    public List<AggregateTotal<Long>> sumByEmployee(LocalDateTime start, LocalDateTime end, OrderStatus status) {
+        return aggregateByEmployee("created_by", "order_date", "total_amount", start, end, status);
+    }
+
+    @Override
+    public List<AggregateTotal<OrderStatus>> sumByStatus(LocalDateTime start, LocalDateTime end) {
+        return aggregateByStatus("order_date", "total_amount", start, end, OrderStatus.class);
+    }
+
     protected void saveOrderItems(Long orderId, List<OrderItem> items) {
         String query = "INSERT INTO order_items (order_id, product_id, quantity, unit_price, " +
                 "discount) VALUES (?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             for (OrderItem item : items) {
                 stmt.setLong(1, orderId);
                 stmt.setLong(2, item.getProduct().getId());
@@ -130,7 +152,8 @@ public class OrderDAOImpl<T extends Order> extends BaseDAOImpl<T> implements Ord
     protected List<OrderItem> loadOrderItems(Long orderId) {
         List<OrderItem> items = new ArrayList<>();
         String query = "SELECT * FROM order_items WHERE order_id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setLong(1, orderId);
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
@@ -4,6 +4,7 @@ import com.nadia.pos.dao.BaseDAOImpl;
 import com.nadia.pos.dao.OrderItemDAO;
 import com.nadia.pos.model.OrderItem;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -49,7 +50,8 @@ public class OrderItemDAOImpl<T extends OrderItem> extends BaseDAOImpl<T> implem
     public List<T> findByOrder(Long orderId) {
         List<T> items = new ArrayList<>();
         String query = "SELECT * FROM order_items WHERE order_id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setLong(1, orderId);
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
@@ -65,7 +67,8 @@ public class OrderItemDAOImpl<T extends OrderItem> extends BaseDAOImpl<T> implem
     public List<T> findByProduct(Long productId) {
         List<T> items = new ArrayList<>();
         String query = "SELECT * FROM order_items WHERE product_id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setLong(1, productId);
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
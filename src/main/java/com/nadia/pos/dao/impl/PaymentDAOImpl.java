@@ -2,10 +2,12 @@ package com.nadia.pos.dao.impl;
 
 import com.nadia.pos.dao.BaseDAOImpl;
 import com.nadia.pos.dao.PaymentDAO;
+import com.nadia.pos.model.AggregateTotal;
 import com.nadia.pos.model.Payment;
 import com.nadia.pos.enums.PaymentStatus;
 
 import java.sql.*;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -42,7 +44,8 @@ public class PaymentDAOImpl<T extends Payment> extends BaseDAOImpl<T> implements
     public List<T> findByStatus(PaymentStatus status) {
         List<T> payments = new ArrayList<>();
         String query = "SELECT * FROM " + tableName + " WHERE status = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setString(1, status.name());
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
@@ -58,7 +61,8 @@ public class PaymentDAOImpl<T extends Payment> extends BaseDAOImpl<T> implements
     public List<T> findByDateRange(LocalDateTime start, LocalDateTime end) {
         List<T> payments = new ArrayList<>();
         String query = "SELECT * FROM " + tableName + " WHERE created_at BETWEEN ? AND ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setTimestamp(1, Timestamp.valueOf(start));
             stmt.setTimestamp(2, Timestamp.valueOf(end));
             ResultSet rs = stmt.executeQuery();
@@ -75,7 +79,8 @@ public class PaymentDAOImpl<T extends Payment> extends BaseDAOImpl<T> implements
     public List<T> findByEmployee(Long employeeId) {
         List<T> payments = new ArrayList<>();
         String query = "SELECT * FROM " + tableName + " WHERE employee_id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setLong(1, employeeId);
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
@@ -90,7 +95,8 @@ public class PaymentDAOImpl<T extends Payment> extends BaseDAOImpl<T> implements
     @Override
     public Optional<T> findByReference(String referenceNumber) {
         String query = "SELECT * FROM " + tableName + " WHERE reference_number = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setString(1, referenceNumber);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
@@ -101,4 +107,19 @@ public class PaymentDAOImpl<T extends Payment> extends BaseDAOImpl<T> implements
             throw new RuntimeException("Error finding payment by reference", e);
         }
     }
+
+    @Override
+    public List<AggregateTotal<LocalDate>> sumByDay(LocalDateTime start, LocalDateTime end, PaymentStatus status) {
+        return aggregateByDay("created_at", "amount", start, end, status);
+    }
+
+    @Override
+    public List<AggregateTotal<Long>> sumByEmployee(LocalDateTime start, LocalDateTime end, PaymentStatus status) {
+        return aggregateByEmployee("employee_id", "created_at", "amount", start, end, status);
+    }
+
+    @Override
+    public List<AggregateTotal<PaymentStatus>> sumByStatus(LocalDateTime start, LocalDateTime end) {
+        return aggregateByStatus("created_at", "amount", start, end, PaymentStatus.class);
+    }
 }
\ No newline at end of file
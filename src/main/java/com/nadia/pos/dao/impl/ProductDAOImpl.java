@@ -10,6 +10,9 @@ import java.util.List;
 import java.util.Optional;
 
 public class ProductDAOImpl extends BaseDAOImpl<Product> implements ProductDAO {
+    // Images are only read through loadImage so lists and lookups never carry the blob
+    private static final String COLUMNS_WITHOUT_IMAGE = "id, name, code, description, price, cost_price, " +
+            "category, unit, minimum_stock, barcode, created_at, updated_at";
 
     public ProductDAOImpl() throws SQLException {
         super("products");
@@ -28,7 +31,6 @@ public class ProductDAOImpl extends BaseDAOImpl<Product> implements ProductDAO {
         product.setUnit(rs.getString("unit"));
         product.setMinimumStock(rs.getInt("minimum_stock"));
         product.setBarcode(rs.getString("barcode"));
-        product.setImage(rs.getBytes("image"));
         product.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
         product.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
         return product;
@@ -45,8 +47,13 @@ public class ProductDAOImpl extends BaseDAOImpl<Product> implements ProductDAO {
         stmt.setString(7, product.getUnit());
         stmt.setInt(8, product.getMinimumStock());
         stmt.setString(9, product.getBarcode());
-        stmt.setBytes(10, product.getImage());
-        stmt.setTimestamp(11, Timestamp.valueOf(product.getUpdatedAt()));
+        int paramIndex = 10;
+        if (product.getId() != null) {
+            // Update: the stored image is kept unless this product's image was set explicitly
+            stmt.setBoolean(paramIndex++, product.isImageChanged());
+        }
+        stmt.setBytes(paramIndex++, product.getImage());
+        stmt.setTimestamp(paramIndex, Timestamp.valueOf(product.getUpdatedAt()));
     }
 
     @Override
@@ -59,13 +66,40 @@ public class ProductDAOImpl extends BaseDAOImpl<Product> implements ProductDAO {
     @Override
     protected String getUpdateQuery() {
         return "UPDATE products SET name=?, code=?, description=?, price=?, cost_price=?, " +
-                "category=?, unit=?, minimum_stock=?, barcode=?, image=?, updated_at=? WHERE id=?";
+                "category=?, unit=?, minimum_stock=?, barcode=?, image=CASE WHEN ? THEN ? ELSE image END, updated_at=? WHERE id=?";
+    }
+
+    @Override
+    protected boolean publishesChanges() {
+        return true;
+    }
+
+    @Override
+    protected String getSelectColumns() {
+        return COLUMNS_WITHOUT_IMAGE;
+    }
+
+    @Override
+    public byte[] loadImage(Long productId) {
+        String query = "SELECT image FROM products WHERE id = ?";
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
+            stmt.setLong(1, productId);
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) {
+                return rs.getBytes("image");
+            }
+            return null;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error loading product image", e);
+        }
     }
 
     @Override
     public Optional<Product> findByCode(String code) {
-        String query = "SELECT * FROM products WHERE code = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        String query = "SELECT " + COLUMNS_WITHOUT_IMAGE + " FROM products WHERE code = ?";
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setString(1, code);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
@@ -79,8 +113,9 @@ public class ProductDAOImpl extends BaseDAOImpl<Product> implements ProductDAO {
 
     @Override
     public Optional<Product> findByBarcode(String barcode) {
-        String query = "SELECT * FROM products WHERE barcode = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        String query = "SELECT " + COLUMNS_WITHOUT_IMAGE + " FROM products WHERE barcode = ?";
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setString(1, barcode);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
@@ -95,8 +130,9 @@ public class ProductDAOImpl extends BaseDAOImpl<Product> implements ProductDAO {
     @Override
     public List<Product> findByCategory(String category) {
         List<Product> products = new ArrayList<>();
-        String query = "SELECT * FROM products WHERE category = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        String query = "SELECT " + COLUMNS_WITHOUT_IMAGE + " FROM products WHERE category = ?";
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setString(1, category);
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
@@ -111,8 +147,9 @@ public class ProductDAOImpl extends BaseDAOImpl<Product> implements ProductDAO {
     @Override
     public List<Product> searchByName(String namePattern) {
         List<Product> products = new ArrayList<>();
-        String query = "SELECT * FROM products WHERE name ILIKE ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        String query = "SELECT " + COLUMNS_WITHOUT_IMAGE + " FROM products WHERE name ILIKE ?";
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setString(1, "%" + namePattern + "%");
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
@@ -127,8 +164,10 @@ public class ProductDAOImpl extends BaseDAOImpl<Product> implements ProductDAO {
     @Override
     public List<Product> findLowStock() {
         List<Product> products = new ArrayList<>();
-        String query = "SELECT * FROM products WHERE stock_quantity <= minimum_stock";
-        try (Statement stmt = connection.createStatement();
+        String query = "SELECT " + COLUMNS_WITHOUT_IMAGE + " FROM products WHERE id IN " +
+                "(SELECT product_id FROM inventory WHERE quantity <= minimum_stock AND is_active)";
+        try (Connection connection = getConnection();
+             Statement stmt = connection.createStatement();
              ResultSet rs = stmt.executeQuery(query)) {
             while (rs.next()) {
                 products.add(mapResultSetToEntity(rs));
@@ -138,17 +177,4 @@ public class ProductDAOImpl extends BaseDAOImpl<Product> implements ProductDAO {
             throw new RuntimeException("Error finding low stock products", e);
         }
     }
-
-    @Override
-    public boolean updateStockQuantity(Long productId, Integer quantity) {
-        String query = "UPDATE products SET stock_quantity = stock_quantity + ?, " +
-                "updated_at = NOW() WHERE id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
-            stmt.setInt(1, quantity);
-            stmt.setLong(2, productId);
-            return stmt.executeUpdate() > 0;
-        } catch (SQLException e) {
-            throw new RuntimeException("Error updating product stock quantity", e);
-        }
-    }
 }
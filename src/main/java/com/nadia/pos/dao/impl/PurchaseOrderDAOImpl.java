@@ -67,7 +67,8 @@ public class PurchaseOrderDAOImpl extends BaseDAOImpl<PurchaseOrder> implements
     public List<PurchaseOrder> findBySupplier(Long supplierId) {
         List<PurchaseOrder> orders = new ArrayList<>();
         String query = "SELECT * FROM purchase_orders WHERE supplier_id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setLong(1, supplierId);
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
@@ -83,7 +84,8 @@ public class PurchaseOrderDAOImpl extends BaseDAOImpl<PurchaseOrder> implements
     public List<PurchaseOrder> findByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         List<PurchaseOrder> orders = new ArrayList<>();
         String query = "SELECT * FROM purchase_orders WHERE created_at BETWEEN ? AND ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setTimestamp(1, Timestamp.valueOf(startDate));
             stmt.setTimestamp(2, Timestamp.valueOf(endDate));
             ResultSet rs = stmt.executeQuery();
@@ -100,7 +102,8 @@ public class PurchaseOrderDAOImpl extends BaseDAOImpl<PurchaseOrder> implements
     public List<PurchaseOrder> findPendingDeliveries() {
         List<PurchaseOrder> orders = new ArrayList<>();
         String query = "SELECT * FROM purchase_orders WHERE status = 'PENDING' AND expected_delivery_date <= NOW()";
-        try (Statement stmt = connection.createStatement();
+        try (Connection connection = getConnection();
+             Statement stmt = connection.createStatement();
              ResultSet rs = stmt.executeQuery(query)) {
             while (rs.next()) {
                 orders.add(mapResultSetToEntity(rs));
@@ -115,7 +118,8 @@ public class PurchaseOrderDAOImpl extends BaseDAOImpl<PurchaseOrder> implements
     public List<PurchaseOrder> findByStatus(String status) {
         List<PurchaseOrder> orders = new ArrayList<>();
         String query = "SELECT * FROM purchase_orders WHERE status = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setString(1, status);
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
@@ -126,4 +130,20 @@ public class PurchaseOrderDAOImpl extends BaseDAOImpl<PurchaseOrder> implements
             throw new RuntimeException("Error finding purchase orders by status", e);
         }
     }
+
+    @Override
+    public boolean completeIfFullyReceived(Long purchaseOrderId) {
+        String query = "UPDATE purchase_orders SET status = ?, updated_at = NOW() WHERE id = ? " +
+                "AND NOT EXISTS (SELECT 1 FROM purchase_order_items " +
+                "WHERE purchase_order_id = ? AND received_quantity < quantity)";
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
+            stmt.setString(1, OrderStatus.COMPLETED.name());
+            stmt.setLong(2, purchaseOrderId);
+            stmt.setLong(3, purchaseOrderId);
+            return stmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error completing purchase order", e);
+        }
+    }
 }
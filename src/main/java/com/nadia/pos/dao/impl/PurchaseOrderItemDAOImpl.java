@@ -3,11 +3,13 @@ package com.nadia.pos.dao.impl;
 import com.nadia.pos.dao.BaseDAOImpl;
 import com.nadia.pos.dao.PurchaseOrderItemDAO;
 import com.nadia.pos.model.OrderItem;
+import com.nadia.pos.model.Product;
 import com.nadia.pos.model.PurchaseOrderItem;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 public class PurchaseOrderItemDAOImpl extends BaseDAOImpl<PurchaseOrderItem> implements PurchaseOrderItemDAO {
 
@@ -19,6 +21,12 @@ public class PurchaseOrderItemDAOImpl extends BaseDAOImpl<PurchaseOrderItem> imp
     protected PurchaseOrderItem mapResultSetToEntity(ResultSet rs) throws SQLException {
         PurchaseOrderItem item = new PurchaseOrderItem();
         item.setId(rs.getLong("id"));
+        item.setPurchaseOrderId(rs.getLong("purchase_order_id"));
+
+        Product product = new Product();
+        product.setId(rs.getLong("product_id"));
+        item.setProduct(product);
+
         item.setQuantity(rs.getInt("quantity"));
         item.setUnitPrice(rs.getBigDecimal("unit_price"));
         item.setDiscount(rs.getBigDecimal("discount"));
@@ -31,6 +39,8 @@ public class PurchaseOrderItemDAOImpl extends BaseDAOImpl<PurchaseOrderItem> imp
 
     @Override
     protected void setStatementParameters(PreparedStatement stmt, PurchaseOrderItem item) throws SQLException {
+        stmt.setLong(1, item.getPurchaseOrderId());
+        stmt.setLong(2, item.getProduct().getId());
         stmt.setInt(3, item.getQuantity());
         stmt.setBigDecimal(4, item.getUnitPrice());
         stmt.setBigDecimal(5, item.getDiscount());
@@ -55,7 +65,8 @@ public class PurchaseOrderItemDAOImpl extends BaseDAOImpl<PurchaseOrderItem> imp
     public List<OrderItem> findByPurchaseOrder(Long purchaseOrderId) {
         List<OrderItem> items = new ArrayList<>();
         String query = "SELECT * FROM purchase_order_items WHERE purchase_order_id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setLong(1, purchaseOrderId);
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
@@ -72,7 +83,8 @@ public class PurchaseOrderItemDAOImpl extends BaseDAOImpl<PurchaseOrderItem> imp
         List<PurchaseOrderItem> items = new ArrayList<>();
         String query = "SELECT * FROM purchase_order_items WHERE purchase_order_id = ? AND " +
                 "(received = FALSE OR received_quantity < quantity)";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setLong(1, purchaseOrderId);
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
@@ -89,7 +101,8 @@ public class PurchaseOrderItemDAOImpl extends BaseDAOImpl<PurchaseOrderItem> imp
         String query = "UPDATE purchase_order_items SET received_quantity = ?, " +
                 "received = CASE WHEN ? >= quantity THEN TRUE ELSE FALSE END, " +
                 "updated_at = NOW() WHERE id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setInt(1, quantity);
             stmt.setInt(2, quantity);
             stmt.setLong(3, itemId);
@@ -98,4 +111,22 @@ public class PurchaseOrderItemDAOImpl extends BaseDAOImpl<PurchaseOrderItem> imp
             throw new RuntimeException("Error updating received quantity", e);
         }
     }
+
+    @Override
+    public int addReceivedQuantities(Map<Long, Integer> quantitiesByItem) {
+        // Lines that would be received past their ordered quantity are skipped, and the caller
+        // compares the count, so two concurrent receipts cannot over-receive a line
+        String query = "UPDATE purchase_order_items p SET received_quantity = p.received_quantity + r.quantity, " +
+                "received = p.received_quantity + r.quantity >= p.quantity, updated_at = NOW() " +
+                "FROM unnest(?::bigint[], ?::integer[]) AS r(item_id, quantity) " +
+                "WHERE p.id = r.item_id AND p.received_quantity + r.quantity <= p.quantity";
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
+            stmt.setArray(1, connection.createArrayOf("bigint", quantitiesByItem.keySet().toArray()));
+            stmt.setArray(2, connection.createArrayOf("integer", quantitiesByItem.values().toArray()));
+            return stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error adding received quantities", e);
+        }
+    }
 }
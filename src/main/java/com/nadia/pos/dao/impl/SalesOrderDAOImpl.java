@@ -3,6 +3,7 @@ package com.nadia.pos.dao.impl;
 import com.nadia.pos.dao.BaseDAOImpl;
 import com.nadia.pos.dao.SalesOrderDAO;
 import com.nadia.pos.enums.OrderStatus;
+import com.nadia.pos.model.AggregateTotal;
 import com.nadia.pos.model.Customer;
 import com.nadia.pos.model.Employee;
 import com.nadia.pos.model.SalesOrder;
@@ -11,10 +12,14 @@ import com.nadia.pos.service.CustomerService;
 import com.nadia.pos.service.EmployeeService;
 
 import java.sql.*;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 
 public class SalesOrderDAOImpl extends BaseDAOImpl<SalesOrder> implements SalesOrderDAO {
     private final CustomerService customerService;
@@ -30,7 +35,7 @@ public class SalesOrderDAOImpl extends BaseDAOImpl<SalesOrder> implements SalesO
     protected SalesOrder mapResultSetToEntity(ResultSet rs) throws SQLException {
         SalesOrder order = new SalesOrder();
         order.setId(rs.getLong("id"));
-        order.setCustomer(getCustomer(rs.getLong("customer_id")));
+        order.setCustomer(customerRef(rs.getLong("customer_id"), rs.wasNull()));
         order.setOrderNumber(rs.getString("order_number"));
         order.setOrderDate(rs.getTimestamp("order_date").toLocalDateTime());
         order.setType(SalesType.valueOf(rs.getString("type")));
@@ -43,7 +48,7 @@ public class SalesOrderDAOImpl extends BaseDAOImpl<SalesOrder> implements SalesO
         order.setNotes(rs.getString("notes"));
         order.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
         order.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
-        order.setCreatedBy(getEmployee(rs.getLong("created_by")));
+        order.setCreatedBy(employeeRef(rs.getLong("created_by"), rs.wasNull()));
 
         return order;
     }
@@ -88,91 +93,151 @@ public class SalesOrderDAOImpl extends BaseDAOImpl<SalesOrder> implements SalesO
                 "WHERE id=?";
     }
 
-    private Customer getCustomer(Long customerId) {
-        if (customerId == null) {
+    private Customer customerRef(long customerId, boolean isNull) {
+        if (isNull) {
             return null;
         }
+        Customer customer = new Customer();
+        customer.setId(customerId);
+        return customer;
+    }
 
-        Optional<Customer> customer = customerService.findCustomerById(customerId);
-        if (customer.isEmpty()) {
-            throw new RuntimeException("Customer not found with ID: " + customerId);
+    private Employee employeeRef(long employeeId, boolean isNull) {
+        if (isNull) {
+            return null;
         }
-        return customer.get();
+        Employee employee = new Employee();
+        employee.setId(employeeId);
+        return employee;
     }
 
-    private Employee getEmployee(Long employeeId) {
-        if (employeeId == null) {
-            return null;
+    /**
+     * Replaces the id-only customer and employee stubs with one lookup per association for the
+     * whole result set. Orders sharing a customer or employee share the same instance.
+     */
+    @Override
+    protected List<SalesOrder> loadReferences(List<SalesOrder> orders) {
+        Set<Long> customerIds = new HashSet<>();
+        Set<Long> employeeIds = new HashSet<>();
+        for (SalesOrder order : orders) {
+            if (order.getCustomer() != null) {
+                customerIds.add(order.getCustomer().getId());
+            }
+            if (order.getCreatedBy() != null) {
+                employeeIds.add(order.getCreatedBy().getId());
+            }
         }
 
-        Optional<Employee> employee = employeeService.findEmployeeById(employeeId);
-        if (employee.isEmpty()) {
-            throw new RuntimeException("Employee not found with ID: " + employeeId);
+        Map<Long, Customer> customers = new HashMap<>();
+        for (Customer customer : customerService.findCustomersByIds(customerIds)) {
+            customers.put(customer.getId(), customer);
+        }
+        Map<Long, Employee> employees = new HashMap<>();
+        for (Employee employee : employeeService.findEmployeesByIds(employeeIds)) {
+            employees.put(employee.getId(), employee);
+        }
+
+        for (SalesOrder order : orders) {
+            if (order.getCustomer() != null) {
+                Long customerId = order.getCustomer().getId();
+                Customer customer = customers.get(customerId);
+                if (customer == null) {
+                    throw new RuntimeException("Customer not found with ID: " + customerId);
+                }
+                order.setCustomer(customer);
+            }
+            if (order.getCreatedBy() != null) {
+                Long employeeId = order.getCreatedBy().getId();
+                Employee employee = employees.get(employeeId);
+                if (employee == null) {
+                    throw new RuntimeException("Employee not found with ID: " + employeeId);
+                }
+                order.setCreatedBy(employee);
+            }
         }
-        return employee.get();
+        return orders;
     }
 
     @Override
     public List<SalesOrder> findByCustomer(Long customerId) {
         List<SalesOrder> orders = new ArrayList<>();
         String query = "SELECT * FROM sales_orders WHERE customer_id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setLong(1, customerId);
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
                 orders.add(mapResultSetToEntity(rs));
             }
-            return orders;
         } catch (SQLException e) {
             throw new RuntimeException("Error finding sales orders by customer", e);
         }
+        return loadReferences(orders);
     }
 
     @Override
     public List<SalesOrder> findByType(SalesType type) {
         List<SalesOrder> orders = new ArrayList<>();
         String query = "SELECT * FROM sales_orders WHERE type = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setString(1, type.name());
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
                 orders.add(mapResultSetToEntity(rs));
             }
-            return orders;
         } catch (SQLException e) {
             throw new RuntimeException("Error finding sales orders by type", e);
         }
+        return loadReferences(orders);
     }
 
     @Override
     public List<SalesOrder> findByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         List<SalesOrder> orders = new ArrayList<>();
         String query = "SELECT * FROM sales_orders WHERE created_at BETWEEN ? AND ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setTimestamp(1, Timestamp.valueOf(startDate));
             stmt.setTimestamp(2, Timestamp.valueOf(endDate));
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
                 orders.add(mapResultSetToEntity(rs));
             }
-            return orders;
         } catch (SQLException e) {
             throw new RuntimeException("Error finding sales orders by date range", e);
         }
+        return loadReferences(orders);
     }
 
     @Override
     public List<SalesOrder> findPendingDeliveries() {
         List<SalesOrder> orders = new ArrayList<>();
         String query = "SELECT * FROM sales_orders WHERE delivery_date <= NOW() AND status = 'PENDING'";
-        try (Statement stmt = connection.createStatement();
+        try (Connection connection = getConnection();
+             Statement stmt = connection.createStatement();
              ResultSet rs = stmt.executeQuery(query)) {
             while (rs.next()) {
                 orders.add(mapResultSetToEntity(rs));
             }
-            return orders;
         } catch (SQLException e) {
             throw new RuntimeException("Error finding pending deliveries", e);
         }
+        return loadReferences(orders);
+    }
+
+    @Override
+    public List<AggregateTotal<LocalDate>> sumByDay(LocalDateTime start, LocalDateTime end, OrderStatus status) {
+        return aggregateByDay("order_date", "total_amount", start, end, status);
+    }
+
+    @Override
+    public List<AggregateTotal<Long>> sumByEmployee(LocalDateTime start, LocalDateTime end, OrderStatus status) {
+        return aggregateByEmployee("created_by", "order_date", "total_amount", start, end, status);
+    }
+
+    @Override
+    public List<AggregateTotal<OrderStatus>> sumByStatus(LocalDateTime start, LocalDateTime end) {
+        return aggregateByStatus("order_date", "total_amount", start, end, OrderStatus.class);
     }
 }
@@ -11,7 +11,12 @@ import java.math.BigDecimal;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class SalesOrderItemDAOImpl extends BaseDAOImpl<SalesOrderItem> implements SalesOrderItemDAO {
     private final ProductService productService;
@@ -27,10 +32,9 @@ public class SalesOrderItemDAOImpl extends BaseDAOImpl<SalesOrderItem> implement
         item.setId(rs.getLong("id"));
         item.setSalesOrderId(rs.getLong("sales_order_id"));
 
-        // Get product from product service
-        Long productId = rs.getLong("product_id");
-        Product product = productService.findProductById(productId)
-                .orElseThrow(() -> new SQLException("Product not found with ID: " + productId));
+        // Resolved in bulk by loadReferences
+        Product product = new Product();
+        product.setId(rs.getLong("product_id"));
         item.setProduct(product);
 
         item.setQuantity(rs.getInt("quantity"));
@@ -87,35 +91,72 @@ public class SalesOrderItemDAOImpl extends BaseDAOImpl<SalesOrderItem> implement
                 "WHERE id=?";
     }
 
+    /**
+     * Fetches every product referenced by the items in one query instead of one per row.
+     */
     @Override
-    public List<OrderItem> findBySalesOrder(Long salesOrderId) {
-        List<OrderItem> items = new ArrayList<>();
-        String query = "SELECT * FROM sales_order_items WHERE sales_order_id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
-            stmt.setLong(1, salesOrderId);
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                items.add(mapResultSetToEntity(rs));
+    protected List<SalesOrderItem> loadReferences(List<SalesOrderItem> items) {
+        Set<Long> productIds = new HashSet<>();
+        for (SalesOrderItem item : items) {
+            productIds.add(item.getProduct().getId());
+        }
+
+        Map<Long, Product> products = new HashMap<>();
+        for (Product product : productService.findProductsByIds(productIds)) {
+            products.put(product.getId(), product);
+        }
+
+        for (SalesOrderItem item : items) {
+            Long productId = item.getProduct().getId();
+            Product product = products.get(productId);
+            if (product == null) {
+                throw new RuntimeException("Product not found with ID: " + productId);
             }
-            return items;
-        } catch (SQLException e) {
-            throw new RuntimeException("Error finding items by sales order", e);
+            item.setProduct(product);
+        }
+        return items;
+    }
+
+    @Override
+    public List<OrderItem> findBySalesOrder(Long salesOrderId) {
+        return new ArrayList<>(findItems("sales_order_id = ?", stmt -> stmt.setLong(1, salesOrderId),
+                "Error finding items by sales order"));
+    }
+
+    @Override
+    public Map<Long, List<OrderItem>> findBySalesOrders(Collection<Long> salesOrderIds) {
+        Map<Long, List<OrderItem>> itemsByOrder = new HashMap<>();
+        if (salesOrderIds.isEmpty()) {
+            return itemsByOrder;
+        }
+        List<SalesOrderItem> items = findItems("sales_order_id = ANY(?)",
+                stmt -> stmt.setArray(1, stmt.getConnection().createArrayOf("bigint", salesOrderIds.toArray())),
+                "Error finding items by sales orders");
+        for (SalesOrderItem item : items) {
+            itemsByOrder.computeIfAbsent(item.getSalesOrderId(), id -> new ArrayList<>()).add(item);
         }
+        return itemsByOrder;
     }
 
     @Override
     public List<SalesOrderItem> findByProduct(Long productId) {
+        return findItems("product_id = ?", stmt -> stmt.setLong(1, productId),
+                "Error finding items by product");
+    }
+
+    private List<SalesOrderItem> findItems(String condition, ParameterBinder binder, String errorMessage) {
         List<SalesOrderItem> items = new ArrayList<>();
-        String query = "SELECT * FROM sales_order_items WHERE product_id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
-            stmt.setLong(1, productId);
+        String query = "SELECT * FROM sales_order_items WHERE " + condition + " ORDER BY id";
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
+            binder.bind(stmt);
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
                 items.add(mapResultSetToEntity(rs));
             }
-            return items;
         } catch (SQLException e) {
-            throw new RuntimeException("Error finding items by product", e);
+            throw new RuntimeException(errorMessage, e);
         }
+        return loadReferences(items);
     }
-}
\ No newline at end of file
+}
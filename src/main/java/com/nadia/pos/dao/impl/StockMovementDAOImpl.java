@@ -86,7 +86,8 @@ public class StockMovementDAOImpl extends BaseDAOImpl<StockMovement> implements
                 "ORDER BY sm.created_at DESC";
 
         List<StockMovement> movements = new ArrayList<>();
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setLong(1, productId);
             stmt.setTimestamp(2, Timestamp.valueOf(startDate));
             stmt.setTimestamp(3, Timestamp.valueOf(endDate));
@@ -110,7 +111,8 @@ public class StockMovementDAOImpl extends BaseDAOImpl<StockMovement> implements
                 "ORDER BY sm.created_at DESC";
 
         List<StockMovement> movements = new ArrayList<>();
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setString(1, referenceNumber);
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
@@ -62,7 +62,8 @@ public class SupplierDAOImpl extends BaseDAOImpl<Supplier> implements SupplierDA
     @Override
     public Optional<Supplier> findByCode(String code) {
         String query = "SELECT * FROM suppliers WHERE code = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setString(1, code);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
@@ -77,7 +78,8 @@ public class SupplierDAOImpl extends BaseDAOImpl<Supplier> implements SupplierDA
     @Override
     public Optional<Supplier> findByPhone(String phone) {
         String query = "SELECT * FROM suppliers WHERE phone = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setString(1, phone);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
@@ -92,7 +94,8 @@ public class SupplierDAOImpl extends BaseDAOImpl<Supplier> implements SupplierDA
     @Override
     public Optional<Supplier> findByEmail(String email) {
         String query = "SELECT * FROM suppliers WHERE email = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setString(1, email);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
@@ -108,7 +111,8 @@ public class SupplierDAOImpl extends BaseDAOImpl<Supplier> implements SupplierDA
     public List<Supplier> searchByName(String namePattern) {
         List<Supplier> suppliers = new ArrayList<>();
         String query = "SELECT * FROM suppliers WHERE name LIKE ?";
-        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query)) {
             stmt.setString(1, "%" + namePattern + "%");
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
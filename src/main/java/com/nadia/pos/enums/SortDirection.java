@@ -0,0 +1,5 @@
+package com.nadia.pos.enums;
+
+public enum SortDirection {
+    ASCENDING, DESCENDING
+}
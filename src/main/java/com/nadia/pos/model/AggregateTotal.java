@@ -0,0 +1,47 @@
+package com.nadia.pos.model;
+
+import java.math.BigDecimal;
+
+/**
+ * One row of a SQL GROUP BY over monetary rows: the group key (a day, employee id, status,
+ * payment method...) with the row count, sum and average of the amount column.
+ */
+public class AggregateTotal<K> {
+    private final K key;
+    private final long count;
+    private final BigDecimal total;
+    private final BigDecimal average;
+
+    public AggregateTotal(K key, long count, BigDecimal total, BigDecimal average) {
+        this.key = key;
+        this.count = count;
+        this.total = total;
+        this.average = average;
+    }
+
+    public K getKey() {
+        return key;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public BigDecimal getAverage() {
+        return average;
+    }
+
+    @Override
+    public String toString() {
+        return "AggregateTotal{" +
+                "key=" + key +
+                ", count=" + count +
+                ", total=" + total +
+                ", average=" + average +
+                '}';
+    }
+}
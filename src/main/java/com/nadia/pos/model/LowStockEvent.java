@@ -0,0 +1,51 @@
+package com.nadia.pos.model;
+
+public class LowStockEvent {
+    private final Long productId;
+    private final int previousQuantity;
+    private final int quantity;
+    private final int minimumStock;
+    private final boolean low;
+
+    public LowStockEvent(Long productId, int previousQuantity, int quantity, int minimumStock, boolean low) {
+        this.productId = productId;
+        this.previousQuantity = previousQuantity;
+        this.quantity = quantity;
+        this.minimumStock = minimumStock;
+        this.low = low;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public int getPreviousQuantity() {
+        return previousQuantity;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public int getMinimumStock() {
+        return minimumStock;
+    }
+
+    /**
+     * True when the product has just dropped to its minimum, false when it has just recovered.
+     */
+    public boolean isLow() {
+        return low;
+    }
+
+    @Override
+    public String toString() {
+        return "LowStockEvent{" +
+                "productId=" + productId +
+                ", previousQuantity=" + previousQuantity +
+                ", quantity=" + quantity +
+                ", minimumStock=" + minimumStock +
+                ", low=" + low +
+                '}';
+    }
+}
@@ -17,6 +17,8 @@ public class Product extends BaseEntity {
     private Integer minimumStock;
     private String barcode;
     private byte[] image;
+    // Products are read without their image; only an explicit setImage replaces the stored one
+    private boolean imageChanged;
 
     public Product() {
         super();
@@ -24,6 +26,29 @@ public class Product extends BaseEntity {
         this.minimumStock = 0;
     }
 
+    /**
+     * Copies every field, so the copy can be changed without affecting the original.
+     */
+    public Product(Product other) {
+        super();
+        this.id = other.id;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+        this.isActive = other.isActive;
+        this.name = other.name;
+        this.code = other.code;
+        this.description = other.description;
+        this.price = other.price;
+        this.costPrice = other.costPrice;
+        this.stockQuantity = other.stockQuantity;
+        this.category = other.category;
+        this.unit = other.unit;
+        this.minimumStock = other.minimumStock;
+        this.barcode = other.barcode;
+        this.image = other.image == null ? null : other.image.clone();
+        this.imageChanged = other.imageChanged;
+    }
+
     @Override
     public void validate() throws ValidationException {
         if (name == null || name.trim().isEmpty()) {
@@ -125,6 +150,11 @@ public class Product extends BaseEntity {
 
     public void setImage(byte[] image) {
         this.image = image;
+        this.imageChanged = true;
+    }
+
+    public boolean isImageChanged() {
+        return imageChanged;
     }
 
     @Override
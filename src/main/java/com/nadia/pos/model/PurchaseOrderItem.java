@@ -3,6 +3,7 @@ package com.nadia.pos.model;
 import java.math.BigDecimal;
 
 public class PurchaseOrderItem extends OrderItem {
+    private Long purchaseOrderId;
     private Boolean received;
     private Integer receivedQuantity;
 
@@ -17,6 +18,14 @@ public class PurchaseOrderItem extends OrderItem {
         return unitPrice.multiply(BigDecimal.valueOf(quantity)).subtract(discount);
     }
 
+    public Long getPurchaseOrderId() {
+        return purchaseOrderId;
+    }
+
+    public void setPurchaseOrderId(Long purchaseOrderId) {
+        this.purchaseOrderId = purchaseOrderId;
+    }
+
     public Boolean getReceived() {
         return received;
     }
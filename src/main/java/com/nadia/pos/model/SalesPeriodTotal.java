@@ -0,0 +1,45 @@
+package com.nadia.pos.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+public class SalesPeriodTotal {
+    private final LocalDate period;
+    private final long orderCount;
+    private final BigDecimal totalAmount;
+
+    public SalesPeriodTotal(LocalDate period, long orderCount, BigDecimal totalAmount) {
+        this.period = period;
+        this.orderCount = orderCount;
+        this.totalAmount = totalAmount;
+    }
+
+    public LocalDate getPeriod() {
+        return period;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public BigDecimal getAverageOrderValue() {
+        if (orderCount == 0) {
+            return BigDecimal.ZERO;
+        }
+        return totalAmount.divide(BigDecimal.valueOf(orderCount), 2, RoundingMode.HALF_UP);
+    }
+
+    @Override
+    public String toString() {
+        return "SalesPeriodTotal{" +
+                "period=" + period +
+                ", orderCount=" + orderCount +
+                ", totalAmount=" + totalAmount +
+                '}';
+    }
+}
@@ -0,0 +1,46 @@
+package com.nadia.pos.model;
+
+/**
+ * A product's stock as it stands right after a change, as returned by the inventory update.
+ */
+public class StockLevel {
+    private final Long productId;
+    private final int quantity;
+    private final int minimumStock;
+    private final boolean active;
+
+    public StockLevel(Long productId, int quantity, int minimumStock, boolean active) {
+        this.productId = productId;
+        this.quantity = quantity;
+        this.minimumStock = minimumStock;
+        this.active = active;
+    }
+
+    public static StockLevel of(Inventory inventory) {
+        return new StockLevel(inventory.getProduct().getId(), inventory.getQuantity(), inventory.getMinimumStock(),
+                !Boolean.FALSE.equals(inventory.getIsActive()));
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public int getMinimumStock() {
+        return minimumStock;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Same condition as InventoryDAO.findLowStock.
+     */
+    public boolean isLow() {
+        return active && quantity <= minimumStock;
+    }
+}
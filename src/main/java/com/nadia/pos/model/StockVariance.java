@@ -0,0 +1,65 @@
+package com.nadia.pos.model;
+
+import java.math.BigDecimal;
+
+public class StockVariance {
+    private final Long productId;
+    private final String productCode;
+    private final String productName;
+    private final int expectedQuantity;
+    private final BigDecimal unitCost;
+    private int countedQuantity;
+
+    public StockVariance(Long productId, String productCode, String productName,
+                         int expectedQuantity, BigDecimal unitCost) {
+        this.productId = productId;
+        this.productCode = productCode;
+        this.productName = productName;
+        this.expectedQuantity = expectedQuantity;
+        this.unitCost = unitCost == null ? BigDecimal.ZERO : unitCost;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public String getProductCode() {
+        return productCode;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public int getExpectedQuantity() {
+        return expectedQuantity;
+    }
+
+    public int getCountedQuantity() {
+        return countedQuantity;
+    }
+
+    /**
+     * Adds a count for this product; the same product may be counted in several bins.
+     */
+    public void addCounted(int quantity) {
+        countedQuantity += quantity;
+    }
+
+    public int getVariance() {
+        return countedQuantity - expectedQuantity;
+    }
+
+    public BigDecimal getVarianceValue() {
+        return unitCost.multiply(BigDecimal.valueOf(getVariance()));
+    }
+
+    @Override
+    public String toString() {
+        return "StockVariance{" +
+                "productCode='" + productCode + '\'' +
+                ", expectedQuantity=" + expectedQuantity +
+                ", countedQuantity=" + countedQuantity +
+                '}';
+    }
+}
@@ -0,0 +1,90 @@
+package com.nadia.pos.model;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Outcome of a stocktake import: one entry per counted product, plus the lines that could not be
+ * applied. Only the first {@link #MAX_REPORTED_PROBLEMS} problems are kept so a badly formatted
+ * file cannot grow the report without bound.
+ */
+public class StocktakeReport {
+    public static final int MAX_REPORTED_PROBLEMS = 100;
+
+    private final Map<Long, StockVariance> byProduct = new LinkedHashMap<>();
+    private final List<String> problems = new ArrayList<>();
+    private int problemCount;
+    private long linesRead;
+
+    public Optional<StockVariance> find(Long productId) {
+        return Optional.ofNullable(byProduct.get(productId));
+    }
+
+    public void add(StockVariance variance) {
+        byProduct.put(variance.getProductId(), variance);
+    }
+
+    public void remove(Long productId) {
+        byProduct.remove(productId);
+    }
+
+    public void lineRead() {
+        linesRead++;
+    }
+
+    public void addProblem(String problem) {
+        problemCount++;
+        if (problems.size() < MAX_REPORTED_PROBLEMS) {
+            problems.add(problem);
+        }
+    }
+
+    public long getLinesRead() {
+        return linesRead;
+    }
+
+    public int getProductsCounted() {
+        return byProduct.size();
+    }
+
+    /**
+     * Counted products whose count differs from the stock on record.
+     */
+    public List<StockVariance> getVariances() {
+        List<StockVariance> variances = new ArrayList<>();
+        for (StockVariance variance : byProduct.values()) {
+            if (variance.getVariance() != 0) {
+                variances.add(variance);
+            }
+        }
+        return variances;
+    }
+
+    public int getNetVariance() {
+        int net = 0;
+        for (StockVariance variance : byProduct.values()) {
+            net += variance.getVariance();
+        }
+        return net;
+    }
+
+    public BigDecimal getNetVarianceValue() {
+        BigDecimal net = BigDecimal.ZERO;
+        for (StockVariance variance : byProduct.values()) {
+            net = net.add(variance.getVarianceValue());
+        }
+        return net;
+    }
+
+    public List<String> getProblems() {
+        return problems;
+    }
+
+    public int getProblemCount() {
+        return problemCount;
+    }
+}
@@ -4,6 +4,7 @@ import com.nadia.pos.model.Customer;
 import com.nadia.pos.enums.CustomerType;
 import com.nadia.pos.exceptions.ValidationException;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +17,8 @@ public interface CustomerService {
 
     Optional<Customer> findCustomerById(Long id);
 
+    List<Customer> findCustomersByIds(Collection<Long> ids);
+
     Optional<Customer> findCustomerByCode(String code);
 
     List<Customer> searchCustomers(String namePattern);
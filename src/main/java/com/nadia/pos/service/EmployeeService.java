@@ -5,6 +5,7 @@ import com.nadia.pos.model.Employee;
 import com.nadia.pos.model.Role;
 import com.nadia.pos.exceptions.ValidationException;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -24,6 +25,8 @@ public interface EmployeeService {
 
     Optional<Employee> findEmployeeById(Long id);
 
+    List<Employee> findEmployeesByIds(Collection<Long> ids);
+
     Optional<Employee> findEmployeeByEmployeeId(String employeeId);
 
     List<Employee> findEmployeesByDepartment(String department);
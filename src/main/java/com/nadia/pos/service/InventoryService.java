@@ -2,6 +2,10 @@ package com.nadia.pos.service;
 
 import com.nadia.pos.exceptions.ValidationException;
 import com.nadia.pos.model.Inventory;
+import com.nadia.pos.model.StocktakeReport;
+
+import java.io.IOException;
+import java.io.Reader;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
@@ -18,10 +22,21 @@ public interface InventoryService {
 
     Inventory performStockCheck(Long id, int actualQuantity) throws ValidationException, SQLException;
 
+    /**
+     * Imports a stocktake count file, one "product code or barcode, counted quantity" line per
+     * bin, comma, semicolon or tab separated, with an optional header. Counts for the same
+     * product are added up. Each counted product's stock is set to its count and the difference
+     * is booked as an ADJUSTMENT movement. The file is streamed and applied in batches, each in its
+     * own transaction, so its size does not matter.
+     */
+    StocktakeReport importStocktake(Reader counts, Long processedById)
+            throws ValidationException, SQLException, IOException;
+
     Optional<Inventory> getInventory(Long id) throws SQLException;
 
     Optional<Inventory> getInventoryByProduct(Long productId) throws SQLException;
 
     List<Inventory> getAllInventory() throws SQLException;
+    List<Inventory> getInventoryPage(Long afterId, int limit) throws SQLException;
     List<Inventory> getLowStockInventory() throws SQLException;
 }
@@ -1,5 +1,6 @@
 package com.nadia.pos.service;
 
+import com.nadia.pos.model.AggregateTotal;
 import com.nadia.pos.model.Order;
 import com.nadia.pos.model.OrderItem;
 import com.nadia.pos.enums.OrderStatus;
@@ -25,5 +26,7 @@ public interface OrderService<T extends Order> {
     List<T> getOrdersByEmployee(Long employeeId);
     BigDecimal calculateOrderTotal(String orderNumber);
     BigDecimal getDailySales(LocalDateTime date);
+    List<AggregateTotal<Long>> getSalesByEmployee(LocalDateTime startDate, LocalDateTime endDate);
+    List<AggregateTotal<OrderStatus>> getOrderTotalsByStatus(LocalDateTime startDate, LocalDateTime endDate);
     List<T> findAll();
 }
\ No newline at end of file
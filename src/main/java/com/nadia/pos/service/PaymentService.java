@@ -1,5 +1,6 @@
 package com.nadia.pos.service;
 
+import com.nadia.pos.model.AggregateTotal;
 import com.nadia.pos.model.Payment;
 import com.nadia.pos.enums.PaymentStatus;
 import com.nadia.pos.exceptions.ValidationException;
@@ -18,4 +19,6 @@ public interface PaymentService<T extends Payment> {
     List<T> getPaymentsByDateRange(LocalDateTime startDate, LocalDateTime endDate);
     List<T> getPaymentsByEmployee(Long employeeId);
     BigDecimal getTotalPayments(LocalDateTime startDate, LocalDateTime endDate);
+    List<AggregateTotal<PaymentStatus>> getPaymentTotalsByStatus(LocalDateTime startDate, LocalDateTime endDate);
+    List<AggregateTotal<Long>> getPaymentTotalsByEmployee(LocalDateTime startDate, LocalDateTime endDate);
 }
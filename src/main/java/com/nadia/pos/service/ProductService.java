@@ -2,9 +2,9 @@ package com.nadia.pos.service;
 
 import com.nadia.pos.model.Product;
 import com.nadia.pos.exceptions.ValidationException;
-import com.nadia.pos.exceptions.BusinessException;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,12 +13,14 @@ public interface ProductService {
 
     void updateProduct(Product product) throws ValidationException;
 
-    void updateStock(Long productId, Integer quantity) throws BusinessException, ValidationException;
-
     void updatePrice(Long productId, BigDecimal newPrice) throws ValidationException;
 
     Optional<Product> findProductById(Long id);
 
+    List<Product> findProductsByIds(Collection<Long> ids);
+
+    byte[] findProductImage(Long id);
+
     Optional<Product> findProductByCode(String code);
 
     Optional<Product> findProductByBarcode(String barcode);
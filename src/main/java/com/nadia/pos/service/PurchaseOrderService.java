@@ -3,8 +3,10 @@ package com.nadia.pos.service;
 import com.nadia.pos.model.OrderItem;
 import com.nadia.pos.model.PurchaseOrder;
 import com.nadia.pos.model.PurchaseOrderItem;
+import com.nadia.pos.model.StockMovement;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 public interface PurchaseOrderService {
     PurchaseOrder createPurchaseOrder(PurchaseOrder order);
@@ -23,4 +25,11 @@ public interface PurchaseOrderService {
     List<OrderItem> findOrderItems(Long orderId);
     List<PurchaseOrderItem> findUnreceivedItems(Long orderId);
     void updateReceivedQuantity(Long itemId, Integer quantity);
+
+    /**
+     * Receives a delivery against the order: adds the given quantities (keyed by item id) to the
+     * lines, books a RECEIPT movement per line and raises the stock, all in one transaction.
+     * Completes the order once every line is fully received.
+     */
+    List<StockMovement> receivePurchaseOrder(Long orderId, Map<Long, Integer> quantitiesByItem, Long processedById);
 }
\ No newline at end of file
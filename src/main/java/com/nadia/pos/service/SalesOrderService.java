@@ -1,10 +1,15 @@
 package com.nadia.pos.service;
 
+import com.nadia.pos.enums.OrderStatus;
+import com.nadia.pos.model.AggregateTotal;
 import com.nadia.pos.model.OrderItem;
 import com.nadia.pos.model.SalesOrder;
 import com.nadia.pos.model.SalesOrderItem;
+import com.nadia.pos.model.SalesPeriodTotal;
 import com.nadia.pos.enums.SalesType;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
 
 public interface SalesOrderService {
@@ -18,6 +23,12 @@ public interface SalesOrderService {
     List<SalesOrder> findByDateRange(LocalDateTime startDate, LocalDateTime endDate);
     List<SalesOrder> findPendingDeliveries();
     List<SalesOrder> findAll();
+    List<SalesOrder> findPage(Long afterId, int limit);
+    List<SalesPeriodTotal> getMonthlySales(YearMonth from, YearMonth to);
+    SalesPeriodTotal getSalesTotals();
+    List<AggregateTotal<LocalDate>> getDailySales(LocalDateTime startDate, LocalDateTime endDate, OrderStatus status);
+    List<AggregateTotal<Long>> getSalesByEmployee(LocalDateTime startDate, LocalDateTime endDate, OrderStatus status);
+    List<AggregateTotal<OrderStatus>> getSalesByStatus(LocalDateTime startDate, LocalDateTime endDate);
 
     // Order item related operations
     SalesOrderItem addOrderItem(Long orderId, SalesOrderItem item);
@@ -7,9 +7,21 @@ import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface StockMovementService {
     StockMovement recordMovement(StockMovement stockMovement) throws ValidationException, SQLException;
+
+    /**
+     * Validates the movement and hands it to the write-behind journal, which commits it in a group
+     * with others queued at the same time. The future completes once the movement is durable, or
+     * fails with a ValidationException if the stock change was refused. For bulk work such as
+     * stocktakes and receiving, where committing each movement on its own is the bottleneck.
+     */
+    CompletableFuture<StockMovement> enqueueMovement(StockMovement stockMovement)
+            throws ValidationException, SQLException;
+
     StockMovement recordAdjustment(Long productId, int quantity, String reason,
                                    BigDecimal unitCost, Long processedById, String notes)
             throws ValidationException, SQLException;
@@ -28,5 +40,6 @@ public interface StockMovementService {
                                               LocalDateTime endDate) throws SQLException;
 
     List<StockMovement> getMovementsByReference(String referenceNumber) throws SQLException;
-    List<StockMovement> getAllMovements() throws SQLException;
+    void forEachMovement(Consumer<? super StockMovement> consumer) throws SQLException;
+    List<StockMovement> getMovementsPage(Long afterId, int limit) throws SQLException;
 }
\ No newline at end of file
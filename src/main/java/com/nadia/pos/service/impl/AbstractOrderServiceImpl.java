@@ -1,12 +1,13 @@
 package com.nadia.pos.service.impl;
 
+import com.nadia.pos.cache.EntityCache;
 import com.nadia.pos.dao.OrderDAO;
 import com.nadia.pos.dao.OrderItemDAO;
-import com.nadia.pos.dao.EmployeeDAO;
 import com.nadia.pos.dao.ProductDAO;
 import com.nadia.pos.exceptions.ValidationException;
 import com.nadia.pos.model.*;
 import com.nadia.pos.service.OrderService;
+import com.nadia.pos.utils.TransactionManager;
 import com.nadia.pos.enums.OrderStatus;
 
 import java.math.BigDecimal;
@@ -18,15 +19,15 @@ import java.util.Optional;
 public abstract class AbstractOrderServiceImpl<T extends Order> implements OrderService<T> {
     protected final OrderDAO<T> orderDAO;
     protected final OrderItemDAO<OrderItem> orderItemDAO;
-    protected final EmployeeDAO employeeDAO;
+    protected final EntityCache<Employee> employeeCache;
     protected final ProductDAO productDAO;
     protected final BigDecimal TAX_RATE = new BigDecimal("0.10");
 
     protected AbstractOrderServiceImpl(OrderDAO<T> orderDAO, OrderItemDAO<OrderItem> orderItemDAO,
-                                       EmployeeDAO employeeDAO, ProductDAO productDAO) {
+                                       EntityCache<Employee> employeeCache, ProductDAO productDAO) {
         this.orderDAO = orderDAO;
         this.orderItemDAO = orderItemDAO;
-        this.employeeDAO = employeeDAO;
+        this.employeeCache = employeeCache;
         this.productDAO = productDAO;
     }
 
@@ -36,7 +37,7 @@ public abstract class AbstractOrderServiceImpl<T extends Order> implements Order
         order.validate();
 
         // Validate employee
-        Employee employee = employeeDAO.findById(order.getCreatedBy().getId())
+        Employee employee = employeeCache.findById(order.getCreatedBy().getId())
                 .orElseThrow(() -> new ValidationException("Employee not found"));
 
         // Validate and process order items
@@ -57,17 +58,19 @@ public abstract class AbstractOrderServiceImpl<T extends Order> implements Order
             order.setOrderNumber(generateOrderNumber());
         }
 
-        // Save order
-        T savedOrder = orderDAO.save(order);
+        return TransactionManager.execute(() -> {
+            // Save order
+            T savedOrder = orderDAO.save(order);
 
-        // Save order items
-        for (OrderItem item : order.getItems()) {
-            item.setCreatedAt(now);
-            item.setUpdatedAt(now);
-            orderItemDAO.save(item);
-        }
+            // Save order items in one batch
+            for (OrderItem item : order.getItems()) {
+                item.setCreatedAt(now);
+                item.setUpdatedAt(now);
+            }
+            orderItemDAO.saveAll(order.getItems());
 
-        return savedOrder;
+            return savedOrder;
+        });
     }
 
     @Override
@@ -188,10 +191,20 @@ public abstract class AbstractOrderServiceImpl<T extends Order> implements Order
         LocalDateTime startOfDay = date.toLocalDate().atStartOfDay();
         LocalDateTime endOfDay = startOfDay.plusDays(1);
 
-        return getOrdersByDateRange(startOfDay, endOfDay).stream()
-                .filter(order -> order.getStatus() == OrderStatus.COMPLETED)
-                .map(Order::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return orderDAO.sumByDay(startOfDay, endOfDay, OrderStatus.COMPLETED).stream()
+                .map(AggregateTotal::getTotal)
+                .findFirst()
+                .orElse(BigDecimal.ZERO);
+    }
+
+    @Override
+    public List<AggregateTotal<Long>> getSalesByEmployee(LocalDateTime startDate, LocalDateTime endDate) {
+        return orderDAO.sumByEmployee(startDate, endDate, OrderStatus.COMPLETED);
+    }
+
+    @Override
+    public List<AggregateTotal<OrderStatus>> getOrderTotalsByStatus(LocalDateTime startDate, LocalDateTime endDate) {
+        return orderDAO.sumByStatus(startDate, endDate);
     }
 
     public List<T> findAll(){
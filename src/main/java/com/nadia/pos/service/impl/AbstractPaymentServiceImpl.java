@@ -2,6 +2,7 @@ package com.nadia.pos.service.impl;
 
 import com.nadia.pos.dao.PaymentDAO;
 import com.nadia.pos.exceptions.ValidationException;
+import com.nadia.pos.model.AggregateTotal;
 import com.nadia.pos.model.Payment;
 import com.nadia.pos.service.PaymentService;
 import com.nadia.pos.enums.PaymentStatus;
@@ -90,10 +91,21 @@ public abstract class AbstractPaymentServiceImpl<T extends Payment> implements P
 
     @Override
     public BigDecimal getTotalPayments(LocalDateTime startDate, LocalDateTime endDate) {
-        return getPaymentsByDateRange(startDate, endDate).stream()
-                .filter(p -> p.getStatus() == PaymentStatus.COMPLETED)
-                .map(Payment::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return paymentDAO.sumByStatus(startDate, endDate).stream()
+                .filter(total -> total.getKey() == PaymentStatus.COMPLETED)
+                .map(AggregateTotal::getTotal)
+                .findFirst()
+                .orElse(BigDecimal.ZERO);
+    }
+
+    @Override
+    public List<AggregateTotal<PaymentStatus>> getPaymentTotalsByStatus(LocalDateTime startDate, LocalDateTime endDate) {
+        return paymentDAO.sumByStatus(startDate, endDate);
+    }
+
+    @Override
+    public List<AggregateTotal<Long>> getPaymentTotalsByEmployee(LocalDateTime startDate, LocalDateTime endDate) {
+        return paymentDAO.sumByEmployee(startDate, endDate, PaymentStatus.COMPLETED);
     }
 
     protected String generateReferenceNumber() {
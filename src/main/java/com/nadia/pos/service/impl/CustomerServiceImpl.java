@@ -1,5 +1,6 @@
 package com.nadia.pos.service.impl;
 
+import com.nadia.pos.cache.EntityCache;
 import com.nadia.pos.dao.CustomerDAO;
 import com.nadia.pos.model.Customer;
 import com.nadia.pos.service.CustomerService;
@@ -8,15 +9,18 @@ import com.nadia.pos.exceptions.ValidationException;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public class CustomerServiceImpl implements CustomerService {
 
     private final CustomerDAO customerDAO;
+    private final EntityCache<Customer> customerCache;
 
-    public CustomerServiceImpl(CustomerDAO customerDAO) {
+    public CustomerServiceImpl(CustomerDAO customerDAO, EntityCache<Customer> customerCache) {
         this.customerDAO = customerDAO;
+        this.customerCache = customerCache;
     }
 
     @Override
@@ -24,9 +28,6 @@ public class CustomerServiceImpl implements CustomerService {
         // Validate customer data
         customer.validate();
 
-        // Check for duplicate code, phone, or email
-        validateUniqueness(customer);
-
         // Set default values if not provided
         if (customer.getType() == null) {
             customer.setType(CustomerType.RETAIL);
@@ -43,7 +44,12 @@ public class CustomerServiceImpl implements CustomerService {
         customer.setCreatedAt(now);
         customer.setUpdatedAt(now);
 
-        customerDAO.save(customer);
+        // Unique constraints on code, phone and email reject duplicates in the same round trip;
+        // the lookups only run to say which value clashed
+        if (customerDAO.insertIfAbsent(customer).isEmpty()) {
+            validateUniqueness(customer);
+            throw new ValidationException("Customer already exists");
+        }
     }
 
     @Override
@@ -62,6 +68,7 @@ public class CustomerServiceImpl implements CustomerService {
         customer.setUpdatedAt(LocalDateTime.now());
 
         customerDAO.update(customer);
+        customerCache.invalidate(customer.getId());
     }
 
     @Override
@@ -74,11 +81,17 @@ public class CustomerServiceImpl implements CustomerService {
         }
 
         customerDAO.delete(c);
+        customerCache.invalidate(c.getId());
     }
 
     @Override
     public Optional<Customer> findCustomerById(Long id) {
-        return customerDAO.findById(id);
+        return customerCache.findById(id);
+    }
+
+    @Override
+    public List<Customer> findCustomersByIds(Collection<Long> ids) {
+        return customerCache.findByIds(ids);
     }
 
     @Override
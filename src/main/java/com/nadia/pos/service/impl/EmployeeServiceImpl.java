@@ -1,5 +1,6 @@
 package com.nadia.pos.service.impl;
 
+import com.nadia.pos.cache.EntityCache;
 import com.nadia.pos.dao.EmployeeDAO;
 import com.nadia.pos.exceptions.AuthenticationException;
 import com.nadia.pos.model.Employee;
@@ -11,6 +12,7 @@ import com.nadia.pos.utils.PasswordUtils;
 
 import java.time.LocalDateTime;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -18,9 +20,11 @@ import java.util.Set;
 public class EmployeeServiceImpl implements EmployeeService {
 
     private final EmployeeDAO employeeDAO;
+    private final EntityCache<Employee> employeeCache;
 
-    public EmployeeServiceImpl(EmployeeDAO employeeDAO) {
+    public EmployeeServiceImpl(EmployeeDAO employeeDAO, EntityCache<Employee> employeeCache) {
         this.employeeDAO = employeeDAO;
+        this.employeeCache = employeeCache;
     }
 
     @Override
@@ -72,7 +76,9 @@ public class EmployeeServiceImpl implements EmployeeService {
         // Update timestamp
         employee.setUpdatedAt(LocalDateTime.now());
 
-        return employeeDAO.update(employee);
+        Employee updated = employeeDAO.update(employee);
+        employeeCache.invalidate(employee.getId());
+        return updated;
     }
 
     @Override
@@ -84,6 +90,7 @@ public class EmployeeServiceImpl implements EmployeeService {
         employee.setUpdatedAt(LocalDateTime.now());
 
         employeeDAO.update(employee);
+        employeeCache.invalidate(id);
     }
 
     @Override
@@ -115,6 +122,7 @@ public class EmployeeServiceImpl implements EmployeeService {
         employee.setUpdatedAt(LocalDateTime.now());
 
         employeeDAO.update(employee);
+        employeeCache.invalidate(employeeId);
     }
 
     @Override
@@ -131,11 +139,17 @@ public class EmployeeServiceImpl implements EmployeeService {
         employee.setUpdatedAt(LocalDateTime.now());
 
         employeeDAO.update(employee);
+        employeeCache.invalidate(employeeId);
     }
 
     @Override
     public Optional<Employee> findEmployeeById(Long id) {
-        return employeeDAO.findById(id);
+        return employeeCache.findById(id);
+    }
+
+    @Override
+    public List<Employee> findEmployeesByIds(Collection<Long> ids) {
+        return employeeCache.findByIds(ids);
     }
 
     @Override
@@ -1,32 +1,52 @@
 package com.nadia.pos.service.impl;
 
+import com.nadia.pos.cache.EntityCache;
+import com.nadia.pos.cache.LowStockMonitor;
 import com.nadia.pos.dao.InventoryDAO;
 import com.nadia.pos.dao.ProductDAO;
 import com.nadia.pos.dao.StockMovementDAO;
+import com.nadia.pos.enums.SortDirection;
 import com.nadia.pos.enums.StockMovementType;
 import com.nadia.pos.exceptions.ValidationException;
 import com.nadia.pos.model.Employee;
 import com.nadia.pos.model.Inventory;
 import com.nadia.pos.model.Product;
+import com.nadia.pos.model.StockLevel;
 import com.nadia.pos.model.StockMovement;
+import com.nadia.pos.model.StockVariance;
+import com.nadia.pos.model.StocktakeReport;
 import com.nadia.pos.service.InventoryService;
+import com.nadia.pos.utils.TransactionManager;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
 import java.math.BigDecimal;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class InventoryServiceImpl implements InventoryService {
     private final InventoryDAO inventoryDAO;
     private final ProductDAO productDAO;
     private final StockMovementDAO stockMovementDAO;
+    private final EntityCache<Employee> employeeCache;
+    private final LowStockMonitor lowStockMonitor;
 
+    private static final int STOCKTAKE_BATCH_SIZE = 1000;
 
-    public InventoryServiceImpl(InventoryDAO inventoryDAO, ProductDAO productDAO, StockMovementDAO stockMovementDAO) {
+    public InventoryServiceImpl(InventoryDAO inventoryDAO, ProductDAO productDAO, StockMovementDAO stockMovementDAO,
+                                EntityCache<Employee> employeeCache, LowStockMonitor lowStockMonitor) {
         this.inventoryDAO = inventoryDAO;
         this.productDAO = productDAO;
         this.stockMovementDAO = stockMovementDAO;
+        this.employeeCache = employeeCache;
+        this.lowStockMonitor = lowStockMonitor;
     }
 
     @Override
@@ -41,13 +61,6 @@ public class InventoryServiceImpl implements InventoryService {
             throw new ValidationException("Product with ID " + inventory.getProduct().getId() + " does not exist");
         }
 
-        // Check if inventory already exists for this product
-        Optional<Inventory> existingInventory = getInventoryByProduct(inventory.getProduct().getId());
-        if (existingInventory.isPresent()) {
-            throw new ValidationException("Inventory already exists for product with ID " +
-                    inventory.getProduct().getId());
-        }
-
         // Set product details from database
         inventory.setProduct(product.get());
 
@@ -56,17 +69,22 @@ public class InventoryServiceImpl implements InventoryService {
         inventory.setCreatedAt(now);
         inventory.setUpdatedAt(now);
 
-        // Save inventory
-        Inventory savedInventory = inventoryDAO.save(inventory);
+        Inventory created = TransactionManager.execute(() -> {
+            // One inventory row per product; the unique product_id constraint catches duplicates
+            Inventory savedInventory = inventoryDAO.insertIfAbsent(inventory, "product_id")
+                    .orElseThrow(() -> new ValidationException("Inventory already exists for product with ID " +
+                            inventory.getProduct().getId()));
 
-        // Create initial stock movement
-        createInitialStockMovement(savedInventory, processedById);
+            // Create initial stock movement
+            createInitialStockMovement(savedInventory, processedById);
 
-        return savedInventory;
+            return savedInventory;
+        });
+        lowStockMonitor.stockChanged(0, StockLevel.of(created));
+        return created;
     }
 
-    private void createInitialStockMovement(Inventory inventory, Long processedById)
-            throws ValidationException, SQLException {
+    private void createInitialStockMovement(Inventory inventory, Long processedById) {
         StockMovement movement = new StockMovement();
         movement.setProduct(inventory.getProduct());
         movement.setType(StockMovementType.RECEIPT);
@@ -116,7 +134,7 @@ public class InventoryServiceImpl implements InventoryService {
         inventory.setCreatedAt(existingInventory.get().getCreatedAt());
         inventory.setUpdatedAt(LocalDateTime.now());
 
-        return inventoryDAO.update(inventory);
+        return updateAndTrack(existingInventory.get().getQuantity(), inventory);
     }
 
     // Rest of the methods remain the same as they don't need product validation
@@ -137,11 +155,12 @@ public class InventoryServiceImpl implements InventoryService {
                     inventory.getMaximumStock());
         }
 
-        inventory.setQuantity(inventory.getQuantity() + quantity);
+        int previousQuantity = inventory.getQuantity();
+        inventory.setQuantity(previousQuantity + quantity);
         inventory.setLastRestockDate(LocalDateTime.now());
         inventory.setUpdatedAt(LocalDateTime.now());
 
-        return inventoryDAO.update(inventory);
+        return updateAndTrack(previousQuantity, inventory);
     }
 
     @Override
@@ -161,10 +180,11 @@ public class InventoryServiceImpl implements InventoryService {
                     inventory.getQuantity() + ", Requested: " + quantity);
         }
 
-        inventory.setQuantity(inventory.getQuantity() - quantity);
+        int previousQuantity = inventory.getQuantity();
+        inventory.setQuantity(previousQuantity - quantity);
         inventory.setUpdatedAt(LocalDateTime.now());
 
-        return inventoryDAO.update(inventory);
+        return updateAndTrack(previousQuantity, inventory);
     }
 
     @Override
@@ -179,11 +199,152 @@ public class InventoryServiceImpl implements InventoryService {
         }
 
         Inventory inventory = optionalInventory.get();
+        int previousQuantity = inventory.getQuantity();
         inventory.setQuantity(actualQuantity);
         inventory.setLastStockCheckDate(LocalDateTime.now());
         inventory.setUpdatedAt(LocalDateTime.now());
 
-        return inventoryDAO.update(inventory);
+        return updateAndTrack(previousQuantity, inventory);
+    }
+
+    private Inventory updateAndTrack(int previousQuantity, Inventory inventory) throws SQLException {
+        Inventory updated = inventoryDAO.update(inventory);
+        lowStockMonitor.stockChanged(previousQuantity, StockLevel.of(updated));
+        return updated;
+    }
+
+    @Override
+    public StocktakeReport importStocktake(Reader counts, Long processedById)
+            throws ValidationException, SQLException, IOException {
+        Employee employee = employeeCache.findById(processedById)
+                .orElseThrow(() -> new ValidationException("Employee not found"));
+        String referenceNumber = "STK-" + System.currentTimeMillis();
+
+        // Only one batch of lines is held at a time; the report grows with the catalog, not the file
+        StocktakeReport report = new StocktakeReport();
+        Map<String, Integer> batch = new LinkedHashMap<>();
+        BufferedReader reader = new BufferedReader(counts);
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+            String[] fields = line.split("[,;\\t]");
+            int quantity;
+            try {
+                quantity = fields.length == 2 ? Integer.parseInt(fields[1].trim()) : -1;
+            } catch (NumberFormatException e) {
+                if (lineNumber == 1) {
+                    continue; // header
+                }
+                quantity = -1;
+            }
+            String code = fields[0].trim();
+            if (quantity < 0 || code.isEmpty()) {
+                report.addProblem("Line " + lineNumber + ": expected a product code and a count, got \"" + line + "\"");
+                continue;
+            }
+            report.lineRead();
+            batch.merge(code, quantity, Integer::sum);
+            if (batch.size() >= STOCKTAKE_BATCH_SIZE) {
+                applyStocktakeBatch(batch, employee, referenceNumber, report);
+                batch.clear();
+            }
+        }
+        applyStocktakeBatch(batch, employee, referenceNumber, report);
+        return report;
+    }
+
+    /**
+     * Resolves one batch of counts against a single bulk read of inventory, then writes the new
+     * quantities and the ADJUSTMENT movements together in one transaction.
+     */
+    private void applyStocktakeBatch(Map<String, Integer> batch, Employee employee, String referenceNumber,
+                                     StocktakeReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<String, Inventory> byCode = new HashMap<>();
+        for (Inventory inventory : inventoryDAO.findByProductCodes(batch.keySet())) {
+            Product product = inventory.getProduct();
+            if (product.getBarcode() != null) {
+                byCode.put(product.getBarcode(), inventory);
+            }
+            byCode.put(product.getCode(), inventory);
+        }
+
+        Map<Long, Integer> deltasByInventory = new HashMap<>();
+        Map<Long, Inventory> inventoriesById = new HashMap<>();
+        for (Map.Entry<String, Integer> count : batch.entrySet()) {
+            Inventory inventory = byCode.get(count.getKey());
+            if (inventory == null) {
+                report.addProblem("Unknown product code " + count.getKey());
+                continue;
+            }
+            Product product = inventory.getProduct();
+            Optional<StockVariance> counted = report.find(product.getId());
+            int delta;
+            if (counted.isPresent()) {
+                // Already set to an earlier count of this product; this count adds to it
+                counted.get().addCounted(count.getValue());
+                delta = count.getValue();
+            } else {
+                StockVariance variance = new StockVariance(product.getId(), product.getCode(), product.getName(),
+                        inventory.getQuantity(), product.getCostPrice());
+                variance.addCounted(count.getValue());
+                report.add(variance);
+                delta = variance.getVariance();
+            }
+            deltasByInventory.merge(inventory.getId(), delta, Integer::sum);
+            inventoriesById.put(inventory.getId(), inventory);
+        }
+
+        Map<Long, StockLevel> committed = new HashMap<>();
+        TransactionManager.run(() -> {
+            Map<Long, StockLevel> newLevels = inventoryDAO.applyStockCheck(deltasByInventory);
+            LocalDateTime now = LocalDateTime.now();
+            List<StockMovement> movements = new ArrayList<>();
+            for (Map.Entry<Long, Integer> change : deltasByInventory.entrySet()) {
+                StockLevel newLevel = newLevels.get(change.getKey());
+                if (change.getValue() == 0 || newLevel == null) {
+                    continue;
+                }
+                int newQuantity = newLevel.getQuantity();
+                Inventory inventory = inventoriesById.get(change.getKey());
+                StockMovement movement = new StockMovement();
+                movement.setProduct(inventory.getProduct());
+                movement.setType(StockMovementType.ADJUSTMENT);
+                movement.setQuantity(change.getValue());
+                movement.setReferenceNumber(referenceNumber);
+                movement.setReason("Stocktake");
+                movement.setUnitCost(inventory.getProduct().getCostPrice());
+                movement.setProcessedBy(employee);
+                movement.setPreviousStock(newQuantity - change.getValue());
+                movement.setNewStock(newQuantity);
+                movement.setCreatedAt(now);
+                movement.setUpdatedAt(now);
+                movements.add(movement);
+            }
+            stockMovementDAO.saveAll(movements);
+            committed.putAll(newLevels);
+        });
+
+        for (Map.Entry<Long, Integer> change : deltasByInventory.entrySet()) {
+            if (!committed.containsKey(change.getKey())) {
+                // Sales since the inventory was read left less stock than the count takes away
+                Product product = inventoriesById.get(change.getKey()).getProduct();
+                report.remove(product.getId());
+                report.addProblem("Count for " + product.getCode() + " not applied: stock changed while " +
+                        "importing and would go below zero");
+            }
+        }
+        for (Map.Entry<Long, StockLevel> change : committed.entrySet()) {
+            StockLevel level = change.getValue();
+            lowStockMonitor.stockChanged(level.getQuantity() - deltasByInventory.get(change.getKey()), level);
+        }
     }
 
     @Override
@@ -202,6 +363,11 @@ public class InventoryServiceImpl implements InventoryService {
         return inventoryDAO.findAll();
     }
 
+    @Override
+    public List<Inventory> getInventoryPage(Long afterId, int limit) throws SQLException {
+        return inventoryDAO.findPage(afterId, limit, SortDirection.ASCENDING);
+    }
+
     @Override
     public List<Inventory> getLowStockInventory() throws SQLException {
         return inventoryDAO.findLowStock();
@@ -1,22 +1,25 @@
 package com.nadia.pos.service.impl;
 
+import com.nadia.pos.cache.ProductCatalogCache;
 import com.nadia.pos.dao.ProductDAO;
 import com.nadia.pos.model.Product;
 import com.nadia.pos.service.ProductService;
 import com.nadia.pos.exceptions.ValidationException;
-import com.nadia.pos.exceptions.BusinessException;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public class ProductServiceImpl implements ProductService {
 
     private final ProductDAO productDAO;
+    private final ProductCatalogCache catalogCache;
 
-    public ProductServiceImpl(ProductDAO productDAO) {
+    public ProductServiceImpl(ProductDAO productDAO, ProductCatalogCache catalogCache) {
         this.productDAO = productDAO;
+        this.catalogCache = catalogCache;
     }
 
     @Override
@@ -40,7 +43,7 @@ public class ProductServiceImpl implements ProductService {
         product.setCreatedAt(now);
         product.setUpdatedAt(now);
 
-        productDAO.save(product);
+        catalogCache.put(productDAO.save(product));
     }
 
     @Override
@@ -60,21 +63,7 @@ public class ProductServiceImpl implements ProductService {
         product.setUpdatedAt(LocalDateTime.now());
 
         productDAO.update(product);
-    }
-
-    @Override
-    public void updateStock(Long productId, Integer quantity) throws BusinessException, ValidationException {
-        Product product = productDAO.findById(productId)
-                .orElseThrow(() -> new ValidationException("Product not found"));
-
-        // Prevent negative stock
-        if (product.getStockQuantity() + quantity < 0) {
-            throw new BusinessException("Insufficient stock available");
-        }
-
-        if (!productDAO.updateStockQuantity(productId, quantity)) {
-            throw new BusinessException("Failed to update stock quantity");
-        }
+        catalogCache.refresh(product.getId());
     }
 
     @Override
@@ -94,31 +83,42 @@ public class ProductServiceImpl implements ProductService {
         product.setUpdatedAt(LocalDateTime.now());
 
         productDAO.update(product);
+        catalogCache.refresh(productId);
     }
 
     @Override
     public Optional<Product> findProductById(Long id) {
-        return productDAO.findById(id);
+        return catalogCache.findById(id);
+    }
+
+    @Override
+    public List<Product> findProductsByIds(Collection<Long> ids) {
+        return catalogCache.findByIds(ids);
+    }
+
+    @Override
+    public byte[] findProductImage(Long id) {
+        return productDAO.loadImage(id);
     }
 
     @Override
     public Optional<Product> findProductByCode(String code) {
-        return productDAO.findByCode(code);
+        return catalogCache.findByCode(code);
     }
 
     @Override
     public Optional<Product> findProductByBarcode(String barcode) {
-        return productDAO.findByBarcode(barcode);
+        return catalogCache.findByBarcode(barcode);
     }
 
     @Override
     public List<Product> findProductsByCategory(String category) {
-        return productDAO.findByCategory(category);
+        return catalogCache.findByCategory(category);
     }
 
     @Override
     public List<Product> searchProducts(String namePattern) {
-        return productDAO.searchByName(namePattern);
+        return catalogCache.searchByName(namePattern);
     }
 
     @Override
@@ -128,17 +128,18 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     public List<Product> findAllProducts() {
-        return productDAO.findAll();
+        return catalogCache.findAll();
     }
 
     @Override
     public void deleteProduct(Long id) {
-
+        productDAO.deleteById(id);
+        catalogCache.refresh(id);
     }
 
     @Override
     public List<Product> findAll() {
-        return productDAO.findAll();
+        return catalogCache.findAll();
     }
 
     private void validateUniqueness(Product product) throws ValidationException {
@@ -1,23 +1,47 @@
 package com.nadia.pos.service.impl;
 
+import com.nadia.pos.cache.EntityCache;
+import com.nadia.pos.cache.LowStockMonitor;
+import com.nadia.pos.dao.InventoryDAO;
 import com.nadia.pos.dao.PurchaseOrderDAO;
 import com.nadia.pos.dao.PurchaseOrderItemDAO;
+import com.nadia.pos.dao.StockMovementDAO;
 import com.nadia.pos.enums.OrderStatus;
+import com.nadia.pos.enums.StockMovementType;
+import com.nadia.pos.model.Employee;
 import com.nadia.pos.model.OrderItem;
 import com.nadia.pos.model.PurchaseOrder;
 import com.nadia.pos.model.PurchaseOrderItem;
+import com.nadia.pos.model.StockLevel;
+import com.nadia.pos.model.StockMovement;
 import com.nadia.pos.service.PurchaseOrderService;
+import com.nadia.pos.utils.TransactionManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class PurchaseOrderServiceImpl implements PurchaseOrderService {
     private final PurchaseOrderDAO purchaseOrderDAO;
     private final PurchaseOrderItemDAO purchaseOrderItemDAO;
+    private final InventoryDAO inventoryDAO;
+    private final StockMovementDAO stockMovementDAO;
+    private final EntityCache<Employee> employeeCache;
+    private final LowStockMonitor lowStockMonitor;
 
-    public PurchaseOrderServiceImpl(PurchaseOrderDAO purchaseOrderDAO, PurchaseOrderItemDAO purchaseOrderItemDAO) {
+    public PurchaseOrderServiceImpl(PurchaseOrderDAO purchaseOrderDAO, PurchaseOrderItemDAO purchaseOrderItemDAO,
+                                    InventoryDAO inventoryDAO, StockMovementDAO stockMovementDAO,
+                                    EntityCache<Employee> employeeCache, LowStockMonitor lowStockMonitor) {
         this.purchaseOrderDAO = purchaseOrderDAO;
         this.purchaseOrderItemDAO = purchaseOrderItemDAO;
+        this.inventoryDAO = inventoryDAO;
+        this.stockMovementDAO = stockMovementDAO;
+        this.employeeCache = employeeCache;
+        this.lowStockMonitor = lowStockMonitor;
     }
 
     @Override
@@ -28,19 +52,24 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
         order.setUpdatedAt(LocalDateTime.now());
         order.calculateTotal();
 
-        PurchaseOrder savedOrder = purchaseOrderDAO.save(order);
+        return TransactionManager.execute(() -> {
+            PurchaseOrder savedOrder = purchaseOrderDAO.save(order);
 
-        // Save order items
-        if (order.getItems() != null) {
-            for (OrderItem item : order.getItems()) {
-                PurchaseOrderItem poItem = (PurchaseOrderItem) item;
-                poItem.setCreatedAt(LocalDateTime.now());
-                poItem.setUpdatedAt(LocalDateTime.now());
-                purchaseOrderItemDAO.save(poItem);
+            // Save order items
+            if (order.getItems() != null) {
+                List<PurchaseOrderItem> items = new ArrayList<>();
+                for (OrderItem item : order.getItems()) {
+                    PurchaseOrderItem poItem = (PurchaseOrderItem) item;
+                    poItem.setPurchaseOrderId(savedOrder.getId());
+                    poItem.setCreatedAt(LocalDateTime.now());
+                    poItem.setUpdatedAt(LocalDateTime.now());
+                    items.add(poItem);
+                }
+                purchaseOrderItemDAO.saveAll(items);
             }
-        }
 
-        return savedOrder;
+            return savedOrder;
+        });
     }
 
     @Override
@@ -124,16 +153,20 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
             throw new RuntimeException("Cannot add items to completed purchase order");
         }
 
+        item.setPurchaseOrderId(orderId);
         item.setCreatedAt(LocalDateTime.now());
         item.setUpdatedAt(LocalDateTime.now());
-        PurchaseOrderItem savedItem = purchaseOrderItemDAO.save(item);
 
-        // Recalculate order total
-        order.getItems().add(savedItem);
-        order.calculateTotal();
-        purchaseOrderDAO.update(order);
+        return TransactionManager.execute(() -> {
+            PurchaseOrderItem savedItem = purchaseOrderItemDAO.save(item);
 
-        return savedItem;
+            // Recalculate order total
+            order.getItems().add(savedItem);
+            order.calculateTotal();
+            purchaseOrderDAO.update(order);
+
+            return savedItem;
+        });
     }
 
     // PurchaseOrderServiceImpl.java (only showing the relevant method)
@@ -153,13 +186,15 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
                 .findFirst()
                 .orElseThrow(() -> new RuntimeException("Order item not found"));
 
-        // Delete the item
-        purchaseOrderItemDAO.delete(itemToDelete);
+        TransactionManager.run(() -> {
+            // Delete the item
+            purchaseOrderItemDAO.delete(itemToDelete);
 
-        // Remove from list and recalculate
-        order.getItems().remove(itemToDelete);
-        order.calculateTotal();
-        purchaseOrderDAO.update(order);
+            // Remove from list and recalculate
+            order.getItems().remove(itemToDelete);
+            order.calculateTotal();
+            purchaseOrderDAO.update(order);
+        });
     }
 
     @Override
@@ -184,6 +219,99 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
         }
     }
 
+    @Override
+    public List<StockMovement> receivePurchaseOrder(Long orderId, Map<Long, Integer> quantitiesByItem,
+                                                    Long processedById) {
+        if (quantitiesByItem == null || quantitiesByItem.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to receive");
+        }
+        for (Map.Entry<Long, Integer> line : quantitiesByItem.entrySet()) {
+            if (line.getValue() == null || line.getValue() <= 0) {
+                throw new IllegalArgumentException("Received quantity for item " + line.getKey() + " must be positive");
+            }
+        }
+
+        // Every line is checked up front with one query per table
+        PurchaseOrder order = purchaseOrderDAO.findById(orderId)
+                .orElseThrow(() -> new RuntimeException("Purchase order not found"));
+        if (OrderStatus.COMPLETED.equals(order.getStatus()) || OrderStatus.CANCELLED.equals(order.getStatus())) {
+            throw new RuntimeException("Cannot receive items on a " + order.getStatus() + " purchase order");
+        }
+        Employee employee = employeeCache.findById(processedById)
+                .orElseThrow(() -> new RuntimeException("Employee not found"));
+
+        Map<Long, PurchaseOrderItem> items = new HashMap<>();
+        for (PurchaseOrderItem item : purchaseOrderItemDAO.findByIds(quantitiesByItem.keySet())) {
+            items.put(item.getId(), item);
+        }
+        Map<Long, Integer> deltasByProduct = new HashMap<>();
+        for (Map.Entry<Long, Integer> line : quantitiesByItem.entrySet()) {
+            PurchaseOrderItem item = items.get(line.getKey());
+            if (item == null || !orderId.equals(item.getPurchaseOrderId())) {
+                throw new IllegalArgumentException("Item " + line.getKey() + " is not on purchase order " + orderId);
+            }
+            if (item.getReceivedQuantity() + line.getValue() > item.getQuantity()) {
+                throw new IllegalArgumentException("Item " + line.getKey() + " would be received past its ordered quantity of " +
+                        item.getQuantity());
+            }
+            deltasByProduct.merge(item.getProduct().getId(), line.getValue(), Integer::sum);
+        }
+
+        Map<Long, StockLevel> newLevels = new HashMap<>();
+        List<StockMovement> received = TransactionManager.execute(() -> {
+            if (purchaseOrderItemDAO.addReceivedQuantities(quantitiesByItem) != quantitiesByItem.size()) {
+                throw new RuntimeException("Purchase order lines changed while receiving, please retry");
+            }
+
+            Map<Long, StockLevel> newStock = inventoryDAO.adjustQuantities(deltasByProduct, true);
+            if (newStock.size() != deltasByProduct.size()) {
+                Set<Long> refused = new HashSet<>(deltasByProduct.keySet());
+                refused.removeAll(newStock.keySet());
+                throw new RuntimeException("Stock could not be received for products " + refused +
+                        ": no inventory record or maximum stock exceeded");
+            }
+
+            // Lines for the same product share one stock change; give each its own step of it
+            Map<Long, Integer> runningStock = new HashMap<>();
+            for (Map.Entry<Long, Integer> product : deltasByProduct.entrySet()) {
+                runningStock.put(product.getKey(), newStock.get(product.getKey()).getQuantity() - product.getValue());
+            }
+            LocalDateTime now = LocalDateTime.now();
+            String referenceNumber = "PO-" + orderId;
+            List<StockMovement> movements = new ArrayList<>(quantitiesByItem.size());
+            for (Map.Entry<Long, Integer> line : quantitiesByItem.entrySet()) {
+                PurchaseOrderItem item = items.get(line.getKey());
+                Long productId = item.getProduct().getId();
+                int previousStock = runningStock.get(productId);
+                runningStock.put(productId, previousStock + line.getValue());
+
+                StockMovement movement = new StockMovement();
+                movement.setProduct(item.getProduct());
+                movement.setType(StockMovementType.RECEIPT);
+                movement.setQuantity(line.getValue());
+                movement.setReferenceNumber(referenceNumber);
+                movement.setReason("Purchase Order Receipt");
+                movement.setUnitCost(item.getUnitPrice());
+                movement.setProcessedBy(employee);
+                movement.setPreviousStock(previousStock);
+                movement.setNewStock(previousStock + line.getValue());
+                movement.setCreatedAt(now);
+                movement.setUpdatedAt(now);
+                movements.add(movement);
+            }
+            stockMovementDAO.saveAll(movements);
+
+            purchaseOrderDAO.completeIfFullyReceived(orderId);
+            newLevels.putAll(newStock);
+            return movements;
+        });
+
+        for (StockLevel level : newLevels.values()) {
+            lowStockMonitor.stockChanged(level.getQuantity() - deltasByProduct.get(level.getProductId()), level);
+        }
+        return received;
+    }
+
     private void validatePurchaseOrder(PurchaseOrder order) {
         if (order == null) {
             throw new IllegalArgumentException("Purchase order cannot be null");
@@ -2,23 +2,36 @@ package com.nadia.pos.service.impl;
 
 import com.nadia.pos.dao.SalesOrderDAO;
 import com.nadia.pos.dao.SalesOrderItemDAO;
+import com.nadia.pos.dao.SalesSummaryDAO;
 import com.nadia.pos.enums.OrderStatus;
 import com.nadia.pos.enums.SalesType;
+import com.nadia.pos.enums.SortDirection;
+import com.nadia.pos.model.AggregateTotal;
 import com.nadia.pos.model.OrderItem;
 import com.nadia.pos.model.SalesOrder;
 import com.nadia.pos.model.SalesOrderItem;
+import com.nadia.pos.model.SalesPeriodTotal;
 import com.nadia.pos.service.SalesOrderService;
+import com.nadia.pos.utils.TransactionManager;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 public class SalesOrderServiceImpl implements SalesOrderService {
     private final SalesOrderDAO salesOrderDAO;
     private final SalesOrderItemDAO salesOrderItemDAO;
+    private final SalesSummaryDAO salesSummaryDAO;
 
-    public SalesOrderServiceImpl(SalesOrderDAO salesOrderDAO, SalesOrderItemDAO salesOrderItemDAO) {
+    public SalesOrderServiceImpl(SalesOrderDAO salesOrderDAO, SalesOrderItemDAO salesOrderItemDAO,
+                                 SalesSummaryDAO salesSummaryDAO) {
         this.salesOrderDAO = salesOrderDAO;
         this.salesOrderItemDAO = salesOrderItemDAO;
+        this.salesSummaryDAO = salesSummaryDAO;
     }
 
     @Override
@@ -29,18 +42,24 @@ public class SalesOrderServiceImpl implements SalesOrderService {
         order.setUpdatedAt(LocalDateTime.now());
         order.calculateTotal();
 
-        // Save the order first to get its ID
-        SalesOrder savedOrder = salesOrderDAO.save(order);
-        order.setId(savedOrder.getId());
+        // Header and items commit together so a failure never leaves a half-written order
+        TransactionManager.run(() -> {
+            // Save the order first to get its ID
+            SalesOrder savedOrder = salesOrderDAO.save(order);
+            order.setId(savedOrder.getId());
 
-        if (order.getItems() != null) {
-            for (OrderItem item : order.getItems()) {
-                item.setSalesOrderId(savedOrder.getId());
-                item.setCreatedAt(LocalDateTime.now());
-                item.setUpdatedAt(LocalDateTime.now());
-                salesOrderItemDAO.save((SalesOrderItem) item);
+            if (order.getItems() != null) {
+                List<SalesOrderItem> items = new ArrayList<>();
+                for (OrderItem item : order.getItems()) {
+                    item.setSalesOrderId(savedOrder.getId());
+                    item.setCreatedAt(LocalDateTime.now());
+                    item.setUpdatedAt(LocalDateTime.now());
+                    items.add((SalesOrderItem) item);
+                }
+                salesOrderItemDAO.saveAll(items);
             }
-        }
+            recordSale(order, 1, order.getTotalAmount());
+        });
     }
 
     @Override
@@ -58,20 +77,38 @@ public class SalesOrderServiceImpl implements SalesOrderService {
 
         order.setUpdatedAt(LocalDateTime.now());
         order.calculateTotal();
-        salesOrderDAO.update(order);
-
-        // Update or create items
-        for (OrderItem item : order.getItems()) {
-            item.setSalesOrderId(order.getId());
-            item.setUpdatedAt(LocalDateTime.now());
 
-            if (item.getId() == null) {
-                item.setCreatedAt(LocalDateTime.now());
-                salesOrderItemDAO.save((SalesOrderItem) item);
+        TransactionManager.run(() -> {
+            salesOrderDAO.update(order);
+            LocalDate previousDay = existingOrder.getOrderDate().toLocalDate();
+            LocalDate day = order.getOrderDate().toLocalDate();
+            if (previousDay.equals(day)) {
+                recordSale(order, 0, difference(order.getTotalAmount(), existingOrder.getTotalAmount()));
             } else {
-                salesOrderItemDAO.update((SalesOrderItem) item);
+                // Touch the two days in date order, so orders moved in opposite directions cannot deadlock
+                boolean movedLater = previousDay.isBefore(day);
+                if (movedLater) {
+                    recordSale(existingOrder, -1, negate(existingOrder.getTotalAmount()));
+                }
+                recordSale(order, 1, order.getTotalAmount());
+                if (!movedLater) {
+                    recordSale(existingOrder, -1, negate(existingOrder.getTotalAmount()));
+                }
             }
-        }
+
+            // Update existing items and batch-insert new ones
+            List<SalesOrderItem> items = new ArrayList<>();
+            for (OrderItem item : order.getItems()) {
+                item.setSalesOrderId(order.getId());
+                item.setUpdatedAt(LocalDateTime.now());
+
+                if (item.getId() == null) {
+                    item.setCreatedAt(LocalDateTime.now());
+                }
+                items.add((SalesOrderItem) item);
+            }
+            salesOrderItemDAO.saveAll(items);
+        });
     }
 
     @Override
@@ -93,38 +130,77 @@ public class SalesOrderServiceImpl implements SalesOrderService {
         if (!OrderStatus.PENDING.equals(order.getStatus())) {
             throw new RuntimeException("Can only delete pending sales orders");
         }
-        salesOrderDAO.delete(order);
+        TransactionManager.run(() -> {
+            salesOrderDAO.delete(order);
+            recordSale(order, -1, negate(order.getTotalAmount()));
+        });
+    }
+
+    @Override
+    public List<SalesPeriodTotal> getMonthlySales(YearMonth from, YearMonth to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Start and end month must not be null");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start month must not be after end month");
+        }
+        return salesSummaryDAO.findMonthlyTotals(from.atDay(1), to.plusMonths(1).atDay(1));
+    }
+
+    @Override
+    public SalesPeriodTotal getSalesTotals() {
+        return salesSummaryDAO.findOverallTotal();
+    }
+
+    @Override
+    public List<AggregateTotal<LocalDate>> getDailySales(LocalDateTime startDate, LocalDateTime endDate,
+                                                         OrderStatus status) {
+        validateRange(startDate, endDate);
+        return salesOrderDAO.sumByDay(startDate, endDate, status);
+    }
+
+    @Override
+    public List<AggregateTotal<Long>> getSalesByEmployee(LocalDateTime startDate, LocalDateTime endDate,
+                                                         OrderStatus status) {
+        validateRange(startDate, endDate);
+        return salesOrderDAO.sumByEmployee(startDate, endDate, status);
+    }
+
+    @Override
+    public List<AggregateTotal<OrderStatus>> getSalesByStatus(LocalDateTime startDate, LocalDateTime endDate) {
+        validateRange(startDate, endDate);
+        return salesOrderDAO.sumByStatus(startDate, endDate);
     }
 
     @Override
     public List<SalesOrder> findByCustomer(Long customerId) {
-        return salesOrderDAO.findByCustomer(customerId);
+        return withItems(salesOrderDAO.findByCustomer(customerId));
     }
 
     @Override
     public List<SalesOrder> findByType(SalesType type) {
-        return salesOrderDAO.findByType(type);
+        return withItems(salesOrderDAO.findByType(type));
     }
 
     @Override
     public List<SalesOrder> findByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        if (startDate == null || endDate == null) {
-            throw new IllegalArgumentException("Start date and end date must not be null");
-        }
-        if (startDate.isAfter(endDate)) {
-            throw new IllegalArgumentException("Start date must be before end date");
-        }
-        return salesOrderDAO.findByDateRange(startDate, endDate);
+        validateRange(startDate, endDate);
+        return withItems(salesOrderDAO.findByDateRange(startDate, endDate));
     }
 
     @Override
     public List<SalesOrder> findPendingDeliveries() {
-        return salesOrderDAO.findPendingDeliveries();
+        return withItems(salesOrderDAO.findPendingDeliveries());
     }
 
     @Override
     public List<SalesOrder> findAll() {
-        return salesOrderDAO.findAll();
+        return withItems(salesOrderDAO.findAll());
+    }
+
+    @Override
+    public List<SalesOrder> findPage(Long afterId, int limit) {
+        return withItems(salesOrderDAO.findPage(afterId, limit, SortDirection.DESCENDING));
     }
 
     @Override
@@ -139,14 +215,19 @@ public class SalesOrderServiceImpl implements SalesOrderService {
 
         item.setCreatedAt(LocalDateTime.now());
         item.setUpdatedAt(LocalDateTime.now());
-        SalesOrderItem savedItem = salesOrderItemDAO.save(item);
 
-        // Recalculate order total
-        order.getItems().add(savedItem);
-        order.calculateTotal();
-        salesOrderDAO.update(order);
+        BigDecimal previousTotal = order.getTotalAmount();
+        return TransactionManager.execute(() -> {
+            SalesOrderItem savedItem = salesOrderItemDAO.save(item);
+
+            // Recalculate order total
+            order.getItems().add(savedItem);
+            order.calculateTotal();
+            salesOrderDAO.update(order);
+            recordSale(order, 0, difference(order.getTotalAmount(), previousTotal));
 
-        return savedItem;
+            return savedItem;
+        });
     }
 
     @Override
@@ -165,13 +246,17 @@ public class SalesOrderServiceImpl implements SalesOrderService {
                 .findFirst()
                 .orElseThrow(() -> new RuntimeException("Order item not found"));
 
-        // Delete the item
-        salesOrderItemDAO.delete(itemToDelete);
+        BigDecimal previousTotal = order.getTotalAmount();
+        TransactionManager.run(() -> {
+            // Delete the item
+            salesOrderItemDAO.delete(itemToDelete);
 
-        // Remove from list and recalculate
-        order.getItems().remove(itemToDelete);
-        order.calculateTotal();
-        salesOrderDAO.update(order);
+            // Remove from list and recalculate
+            order.getItems().remove(itemToDelete);
+            order.calculateTotal();
+            salesOrderDAO.update(order);
+            recordSale(order, 0, difference(order.getTotalAmount(), previousTotal));
+        });
     }
 
     @Override
@@ -184,6 +269,44 @@ public class SalesOrderServiceImpl implements SalesOrderService {
         return salesOrderItemDAO.findByProduct(productId);
     }
 
+    /**
+     * Applies an order's change to the daily sales rollup. Must run inside the transaction that
+     * writes the order so the rollup never drifts from sales_orders.
+     */
+    private void recordSale(SalesOrder order, int orderCountDelta, BigDecimal amountDelta) {
+        salesSummaryDAO.addToDay(order.getOrderDate().toLocalDate(), order.getId(), orderCountDelta,
+                amountDelta == null ? BigDecimal.ZERO : amountDelta);
+    }
+
+    private static BigDecimal negate(BigDecimal amount) {
+        return amount == null ? BigDecimal.ZERO : amount.negate();
+    }
+
+    private static BigDecimal difference(BigDecimal current, BigDecimal previous) {
+        return (current == null ? BigDecimal.ZERO : current).add(negate(previous));
+    }
+
+    private List<SalesOrder> withItems(List<SalesOrder> orders) {
+        List<Long> orderIds = new ArrayList<>();
+        for (SalesOrder order : orders) {
+            orderIds.add(order.getId());
+        }
+        Map<Long, List<OrderItem>> itemsByOrder = salesOrderItemDAO.findBySalesOrders(orderIds);
+        for (SalesOrder order : orders) {
+            order.setItems(itemsByOrder.getOrDefault(order.getId(), new ArrayList<>()));
+        }
+        return orders;
+    }
+
+    private void validateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Start date and end date must not be null");
+        }
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date must be before end date");
+        }
+    }
+
     private void validateSalesOrder(SalesOrder order) {
         if (order == null) {
             throw new IllegalArgumentException("Sales order cannot be null");
@@ -0,0 +1,240 @@
+package com.nadia.pos.service.impl;
+
+import com.nadia.pos.cache.LowStockMonitor;
+import com.nadia.pos.dao.InventoryDAO;
+import com.nadia.pos.dao.StockMovementDAO;
+import com.nadia.pos.enums.StockMovementType;
+import com.nadia.pos.model.StockLevel;
+import com.nadia.pos.model.StockMovement;
+import com.nadia.pos.utils.TransactionManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind journal for stock movements. Callers append to a bounded queue and a single
+ * writer thread applies whatever has queued up, up to {@link #MAX_BATCH} movements or
+ * {@link #FLUSH_INTERVAL_MILLIS} after the first one, in one transaction: one commit, and so one
+ * WAL flush, per group instead of per movement. Each append returns a future that completes once
+ * its group has committed, holding the recorded movement, or empty if the inventory update was
+ * refused (no inventory row, or stock would go negative or past its maximum). A full queue blocks
+ * the caller until the writer catches up.
+ */
+public class StockMovementJournal {
+    private static final int CAPACITY = 10_000;
+    private static final int MAX_BATCH = 500;
+    private static final long FLUSH_INTERVAL_MILLIS = 5;
+    private static final long IDLE_POLL_MILLIS = 200;
+
+    private final StockMovementDAO stockMovementDAO;
+    private final InventoryDAO inventoryDAO;
+    private final LowStockMonitor lowStockMonitor;
+    private final BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(CAPACITY);
+    private volatile boolean running;
+    private Thread writer;
+
+    private record Entry(StockMovement movement, int delta,
+                         CompletableFuture<Optional<StockMovement>> acknowledgement) {
+    }
+
+    public StockMovementJournal(StockMovementDAO stockMovementDAO, InventoryDAO inventoryDAO,
+                                LowStockMonitor lowStockMonitor) {
+        this.stockMovementDAO = stockMovementDAO;
+        this.inventoryDAO = inventoryDAO;
+        this.lowStockMonitor = lowStockMonitor;
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::writeLoop, "stock-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+        // Flush what is still queued when the application exits
+        Runtime.getRuntime().addShutdownHook(new Thread(this::stop, "stock-journal-shutdown"));
+    }
+
+    /**
+     * Stops accepting movements, waits for the writer to commit everything already queued, and
+     * fails anything that could not be written.
+     */
+    public void stop() {
+        Thread current;
+        synchronized (this) {
+            running = false;
+            current = writer;
+        }
+        if (current != null) {
+            try {
+                current.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        List<Entry> leftover = new ArrayList<>();
+        queue.drainTo(leftover);
+        for (Entry entry : leftover) {
+            entry.acknowledgement().completeExceptionally(new IllegalStateException("Stock journal stopped"));
+        }
+    }
+
+    /**
+     * Queues a movement that changes its product's stock by delta, blocking while the queue is
+     * full.
+     */
+    public CompletableFuture<Optional<StockMovement>> append(StockMovement movement, int delta)
+            throws InterruptedException {
+        CompletableFuture<Optional<StockMovement>> acknowledgement = new CompletableFuture<>();
+        // Checked and queued under the lock stop() takes, so nothing is queued after the writer's last drain
+        synchronized (this) {
+            if (!running) {
+                throw new IllegalStateException("Stock journal is not running");
+            }
+            queue.put(new Entry(movement, delta, acknowledgement));
+        }
+        return acknowledgement;
+    }
+
+    private void writeLoop() {
+        List<Entry> group = new ArrayList<>(MAX_BATCH);
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(FLUSH_INTERVAL_MILLIS);
+                while (group.size() < MAX_BATCH) {
+                    queue.drainTo(group, MAX_BATCH - group.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (group.size() >= MAX_BATCH || remaining <= 0) {
+                        break;
+                    }
+                    Entry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Keep draining; stop() ends the loop once the queue is empty
+                Thread.interrupted();
+            }
+            if (!group.isEmpty()) {
+                commit(group);
+                group.clear();
+            }
+        }
+    }
+
+    /**
+     * Applies one group in a single transaction, with one inventory update for all of its
+     * products. Products whose combined change is refused are retried movement by movement, so
+     * only the movements that do not fit are left out. If the group fails on a database error,
+     * each movement is retried in a transaction of its own so one bad movement cannot fail the
+     * others.
+     */
+    private void commit(List<Entry> group) {
+        Map<Entry, StockLevel> accepted = new IdentityHashMap<>();
+        try {
+            TransactionManager.<RuntimeException>run(() -> {
+                accepted.clear();
+                List<StockMovement> movements = new ArrayList<>(group.size());
+                adjustStock(group, true, accepted);
+                adjustStock(group, false, accepted);
+                for (Entry entry : group) {
+                    if (accepted.containsKey(entry)) {
+                        movements.add(entry.movement());
+                    }
+                }
+                stockMovementDAO.saveAll(movements);
+            });
+        } catch (RuntimeException e) {
+            // The transaction rolled back, but saveAll may already have given the movements ids and
+            // accept() their stock levels; clear both so a retry inserts them afresh
+            for (Entry entry : group) {
+                entry.movement().setId(null);
+                entry.movement().setPreviousStock(null);
+                entry.movement().setNewStock(null);
+            }
+            if (group.size() > 1) {
+                for (Entry entry : group) {
+                    commit(List.of(entry));
+                }
+                return;
+            }
+            group.get(0).acknowledgement().completeExceptionally(e);
+            return;
+        }
+        for (Entry entry : group) {
+            StockLevel newLevel = accepted.get(entry);
+            if (newLevel != null) {
+                try {
+                    lowStockMonitor.stockChanged(entry.movement().getPreviousStock(), newLevel);
+                } catch (RuntimeException e) {
+                    // Surfaces to the caller as it would on the synchronous paths; the movement is committed
+                    entry.acknowledgement().completeExceptionally(e);
+                    continue;
+                }
+                entry.acknowledgement().complete(Optional.of(entry.movement()));
+            } else {
+                entry.acknowledgement().complete(Optional.empty());
+            }
+        }
+    }
+
+    /**
+     * Applies the receipts (restock true) or the other movements of the group. Each accepted
+     * movement gets the stock before and after it; within a product, increases are counted before
+     * decreases, so a combined change that fits never records a movement going below zero.
+     */
+    private void adjustStock(List<Entry> group, boolean restock, Map<Entry, StockLevel> accepted) {
+        Map<Long, List<Entry>> entriesByProduct = new LinkedHashMap<>();
+        Map<Long, Integer> deltasByProduct = new LinkedHashMap<>();
+        for (Entry entry : group) {
+            if ((entry.movement().getType() == StockMovementType.RECEIPT) == restock) {
+                Long productId = entry.movement().getProduct().getId();
+                entriesByProduct.computeIfAbsent(productId, id -> new ArrayList<>()).add(entry);
+                deltasByProduct.merge(productId, entry.delta(), Integer::sum);
+            }
+        }
+        Map<Long, StockLevel> newLevels = inventoryDAO.adjustQuantities(deltasByProduct, restock);
+        for (Map.Entry<Long, List<Entry>> product : entriesByProduct.entrySet()) {
+            StockLevel level = newLevels.get(product.getKey());
+            if (level != null) {
+                int quantity = level.getQuantity() - deltasByProduct.get(product.getKey());
+                List<Entry> entries = product.getValue();
+                entries.sort(Comparator.comparingInt(entry -> entry.delta() >= 0 ? 0 : 1));
+                for (Entry entry : entries) {
+                    quantity += entry.delta();
+                    accept(entry, new StockLevel(level.getProductId(), quantity, level.getMinimumStock(),
+                            level.isActive()), accepted);
+                }
+            } else {
+                // The combined change was refused; some of the movements may still fit on their own
+                for (Entry entry : product.getValue()) {
+                    inventoryDAO.adjustQuantity(product.getKey(), entry.delta(), restock)
+                            .ifPresent(newLevel -> accept(entry, newLevel, accepted));
+                }
+            }
+        }
+    }
+
+    private void accept(Entry entry, StockLevel newLevel, Map<Entry, StockLevel> accepted) {
+        entry.movement().setPreviousStock(newLevel.getQuantity() - entry.delta());
+        entry.movement().setNewStock(newLevel.getQuantity());
+        accepted.put(entry, newLevel);
+    }
+}
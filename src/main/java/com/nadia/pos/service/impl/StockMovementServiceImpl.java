@@ -1,81 +1,137 @@
 package com.nadia.pos.service.impl;
 
+import com.nadia.pos.cache.EntityCache;
+import com.nadia.pos.cache.LowStockMonitor;
 import com.nadia.pos.dao.InventoryDAO;
 import com.nadia.pos.dao.ProductDAO;
 import com.nadia.pos.dao.StockMovementDAO;
-import com.nadia.pos.dao.EmployeeDAO;
+import com.nadia.pos.enums.SortDirection;
 import com.nadia.pos.enums.StockMovementType;
 import com.nadia.pos.exceptions.ValidationException;
 import com.nadia.pos.model.Employee;
 import com.nadia.pos.model.Inventory;
 import com.nadia.pos.model.Product;
+import com.nadia.pos.model.StockLevel;
 import com.nadia.pos.model.StockMovement;
 import com.nadia.pos.service.StockMovementService;
+import com.nadia.pos.utils.TransactionManager;
 
 import java.math.BigDecimal;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 
 public class StockMovementServiceImpl implements StockMovementService {
     private final StockMovementDAO stockMovementDAO;
     private final InventoryDAO inventoryDAO;
     private final ProductDAO productDAO;
-    private final EmployeeDAO employeeDAO;
+    private final EntityCache<Employee> employeeCache;
+    private final StockMovementJournal journal;
+    private final LowStockMonitor lowStockMonitor;
 
     public StockMovementServiceImpl(StockMovementDAO stockMovementDAO, InventoryDAO inventoryDAO,
-                                    ProductDAO productDAO, EmployeeDAO employeeDAO) {
+                                    ProductDAO productDAO, EntityCache<Employee> employeeCache,
+                                    StockMovementJournal journal, LowStockMonitor lowStockMonitor) {
         this.stockMovementDAO = stockMovementDAO;
         this.inventoryDAO = inventoryDAO;
         this.productDAO = productDAO;
-        this.employeeDAO = employeeDAO;
+        this.employeeCache = employeeCache;
+        this.journal = journal;
+        this.lowStockMonitor = lowStockMonitor;
     }
 
     @Override
     public StockMovement recordMovement(StockMovement movement) throws ValidationException, SQLException {
+        int delta = prepareMovement(movement);
+        Product product = movement.getProduct();
+
+        // The conditional update applies the change and checks the limits in one statement, so
+        // concurrent tills never overwrite each other; its row lock is held only until the
+        // movement insert commits with it
+        Optional<StockLevel> newLevel = TransactionManager.execute(() -> {
+            Optional<StockLevel> level = inventoryDAO.adjustQuantity(product.getId(), delta,
+                    movement.getType() == StockMovementType.RECEIPT);
+            if (level.isPresent()) {
+                movement.setPreviousStock(level.get().getQuantity() - delta);
+                movement.setNewStock(level.get().getQuantity());
+                stockMovementDAO.save(movement);
+            }
+            return level;
+        });
+        if (newLevel.isEmpty()) {
+            throw rejectedMovement(product.getId(), delta);
+        }
+        lowStockMonitor.stockChanged(movement.getPreviousStock(), newLevel.get());
+        return movement;
+    }
+
+    @Override
+    public CompletableFuture<StockMovement> enqueueMovement(StockMovement movement)
+            throws ValidationException, SQLException {
+        int delta = prepareMovement(movement);
+        CompletableFuture<Optional<StockMovement>> acknowledgement;
+        // The writer thread only runs once something actually queues a movement
+        journal.start();
+        try {
+            acknowledgement = journal.append(movement, delta);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while queueing stock movement", e);
+        }
+        // Explaining a refusal reads the database, so keep it off the journal's writer thread
+        return acknowledgement.thenApplyAsync(recorded -> recorded.orElseThrow(() -> {
+            try {
+                return new CompletionException(rejectedMovement(movement.getProduct().getId(), delta));
+            } catch (SQLException e) {
+                return new CompletionException(e);
+            }
+        }));
+    }
+
+    /**
+     * Validates the movement, checks its product and employee exist and stamps it, returning the
+     * change it makes to the product's stock.
+     */
+    private int prepareMovement(StockMovement movement) throws ValidationException {
         // Validate movement data
         movement.validate();
 
         // Load and validate product
         Product product = productDAO.findById(movement.getProduct().getId())
                 .orElseThrow(() -> new ValidationException("Product not found"));
+        movement.setProduct(product);
 
         // Load and validate employee
-        Employee employee = employeeDAO.findById(movement.getProcessedBy().getId())
+        employeeCache.findById(movement.getProcessedBy().getId())
                 .orElseThrow(() -> new ValidationException("Employee not found"));
 
-        // Get current inventory
-        Inventory inventory = inventoryDAO.findByProduct(product.getId());
-        if (inventory == null) {
-            throw new ValidationException("No inventory record found for product");
-        }
-
-        // Set previous and new stock levels
-        movement.setPreviousStock(inventory.getQuantity());
-        int newStock = calculateNewStock(inventory.getQuantity(), movement.getQuantity(), movement.getType());
-        movement.setNewStock(newStock);
-
-        // Validate new stock level
-        validateStockLevel(inventory, newStock);
-
         // Set timestamps
         LocalDateTime now = LocalDateTime.now();
         movement.setCreatedAt(now);
         movement.setUpdatedAt(now);
 
-        // Record movement
-        StockMovement recordedMovement = stockMovementDAO.save(movement);
+        return calculateStockChange(movement.getQuantity(), movement.getType());
+    }
 
-        // Update inventory
-        inventory.setQuantity(newStock);
-        inventory.setUpdatedAt(now);
-        if (movement.getType() == StockMovementType.RECEIPT) {
-            inventory.setLastRestockDate(now);
+    /**
+     * Works out why the conditional update matched no row, re-reading the inventory only on this
+     * failure path.
+     */
+    private ValidationException rejectedMovement(Long productId, int delta) throws SQLException {
+        Inventory inventory = inventoryDAO.findByProduct(productId);
+        if (inventory == null) {
+            return new ValidationException("No inventory record found for product");
         }
-        inventoryDAO.update(inventory);
-
-        return recordedMovement;
+        try {
+            validateStockLevel(inventory, inventory.getQuantity() + delta);
+        } catch (ValidationException e) {
+            return e;
+        }
+        return new ValidationException("Stock level changed while recording the movement, please retry");
     }
 
     @Override
@@ -154,21 +210,18 @@ public class StockMovementServiceImpl implements StockMovementService {
     }
 
     @Override
-    public List<StockMovement> getAllMovements() throws SQLException {
-        List<StockMovement> movements = stockMovementDAO.findAll();
-                System.out.println("Found " + movements.size() + " movements");
-        for (StockMovement movement : movements) {
-            System.out.println("Movement ID: " + movement.getId());
-            System.out.println("Product: " + movement.getProduct());
-            System.out.println("Employee: " + movement.getProcessedBy());
-        }
-        return movements;
+    public void forEachMovement(Consumer<? super StockMovement> consumer) throws SQLException {
+        stockMovementDAO.forEach(consumer);
+    }
+
+    @Override
+    public List<StockMovement> getMovementsPage(Long afterId, int limit) throws SQLException {
+        return stockMovementDAO.findPage(afterId, limit, SortDirection.DESCENDING);
     }
 
-    private int calculateNewStock(int currentStock, int quantity, StockMovementType type) {
+    private int calculateStockChange(int quantity, StockMovementType type) {
         return switch (type) {
-            case RECEIPT -> currentStock + quantity;
-            case TRANSFER, ADJUSTMENT -> currentStock + quantity;
+            case RECEIPT, TRANSFER, ADJUSTMENT -> quantity;
             default -> throw new IllegalArgumentException("Unsupported movement type: " + type);
         };
     }
@@ -0,0 +1,147 @@
+package com.nadia.pos.utils;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Listens for row change notifications published by the DAOs (see BaseDAOImpl.publishesChanges)
+ * on a dedicated connection and forwards them to the caches subscribed to that table, so writes
+ * made by other terminals evict local copies. After a lost connection every subscriber is reset,
+ * since notifications sent while disconnected are gone. Subscribers are called on a separate
+ * dispatch thread, one at a time in arrival order, so reloads they run never hold up polling.
+ */
+public class ChangeNotificationListener implements Runnable {
+    public static final String CHANNEL = "entity_changes";
+
+    private static final int POLL_TIMEOUT_MILLIS = 1000;
+    private static final long RECONNECT_DELAY_MILLIS = 5000;
+
+    private final Map<String, List<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private volatile boolean running;
+    private Thread thread;
+    private ExecutorService dispatcher;
+
+    private static final class Subscription {
+        private final Consumer<Long> onChange;
+        private final Runnable onReset;
+
+        private Subscription(Consumer<Long> onChange, Runnable onReset) {
+            this.onChange = onChange;
+            this.onReset = onReset;
+        }
+    }
+
+    public void subscribe(String tableName, Consumer<Long> onChange, Runnable onReset) {
+        subscriptions.computeIfAbsent(tableName, table -> new CopyOnWriteArrayList<>())
+                .add(new Subscription(onChange, onReset));
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        dispatcher = Executors.newSingleThreadExecutor(task -> {
+            Thread dispatchThread = new Thread(task, "db-change-dispatcher");
+            dispatchThread.setDaemon(true);
+            return dispatchThread;
+        });
+        thread = new Thread(this, "db-change-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        if (dispatcher != null) {
+            dispatcher.shutdownNow();
+        }
+    }
+
+    @Override
+    public void run() {
+        boolean missedNotifications = false;
+        while (running) {
+            try (Connection connection = DatabaseUtil.openDedicatedConnection()) {
+                try (Statement stmt = connection.createStatement()) {
+                    stmt.execute("LISTEN " + CHANNEL);
+                }
+                if (missedNotifications) {
+                    resetAll();
+                    missedNotifications = false;
+                }
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                e.printStackTrace();
+                missedNotifications = true;
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void dispatch(String payload) {
+        String tableName;
+        Long id;
+        try {
+            int separator = payload.lastIndexOf(':');
+            tableName = payload.substring(0, separator);
+            id = Long.valueOf(payload.substring(separator + 1));
+        } catch (RuntimeException e) {
+            // Anyone can NOTIFY on the channel; a payload we did not write is not worth the listener
+            System.err.println("Ignoring malformed change notification: " + payload);
+            return;
+        }
+        for (Subscription subscription : subscriptions.getOrDefault(tableName, List.of())) {
+            deliver(() -> subscription.onChange.accept(id));
+        }
+    }
+
+    private void resetAll() {
+        for (List<Subscription> tableSubscriptions : subscriptions.values()) {
+            for (Subscription subscription : tableSubscriptions) {
+                deliver(subscription.onReset);
+            }
+        }
+    }
+
+    private void deliver(Runnable callback) {
+        dispatcher.execute(() -> {
+            try {
+                callback.run();
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        });
+    }
+}
@@ -3,17 +3,23 @@ package com.nadia.pos.utils;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import java.sql.Connection;
+import java.sql.DriverManager;
 import java.sql.SQLException;
 
 public class DatabaseUtil {
+    // Overridable with -Dpos.db.url / -Dpos.db.user / -Dpos.db.password, e.g. to point tests at a scratch database
+    private static final String JDBC_URL = System.getProperty("pos.db.url", "jdbc:postgresql://localhost:5432/pos_db");
+    private static final String USERNAME = System.getProperty("pos.db.user", "postgres");
+    private static final String PASSWORD = System.getProperty("pos.db.password", "@Issaally99");
+
     private static final HikariDataSource dataSource;
 
     static {
         HikariConfig config = new HikariConfig();
 
-        config.setJdbcUrl("jdbc:postgresql://localhost:5432/pos_db");
-        config.setUsername("postgres");
-        config.setPassword("@Issaally99");
+        config.setJdbcUrl(JDBC_URL);
+        config.setUsername(USERNAME);
+        config.setPassword(PASSWORD);
 
         // Connection pool settings
         config.setMaximumPoolSize(20);
@@ -30,12 +36,20 @@ public class DatabaseUtil {
         config.addDataSourceProperty("cachePrepStmts", "true");
         config.addDataSourceProperty("prepStmtCacheSize", "250");
         config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+        config.addDataSourceProperty("reWriteBatchedInserts", "true");
 
         try {
             dataSource = new HikariDataSource(config);
         } catch (Exception e) {
             throw new RuntimeException("Failed to initialize connection pool", e);
         }
+
+        try (Connection connection = dataSource.getConnection()) {
+            new SchemaMigrator(connection).migrate();
+        } catch (SQLException e) {
+            dataSource.close();
+            throw new RuntimeException("Failed to migrate database schema: " + e.getMessage(), e);
+        }
     }
 
     public static Connection getConnection() throws SQLException {
@@ -46,6 +60,14 @@ public class DatabaseUtil {
         }
     }
 
+    /**
+     * Opens a connection outside the pool for long-lived sessions such as LISTEN, which would
+     * otherwise pin a pooled connection and trip leak detection.
+     */
+    public static Connection openDedicatedConnection() throws SQLException {
+        return DriverManager.getConnection(JDBC_URL, USERNAME, PASSWORD);
+    }
+
     public static void closeConnection(Connection connection) {
         if (connection != null) {
             try {
@@ -56,6 +78,14 @@ public class DatabaseUtil {
         }
     }
 
+    public static int getMaximumPoolSize() {
+        return dataSource.getMaximumPoolSize();
+    }
+
+    public static int getActiveConnections() {
+        return dataSource.getHikariPoolMXBean().getActiveConnections();
+    }
+
     // Add a shutdown method
     public static void shutdown() {
         if (dataSource != null && !dataSource.isClosed()) {
@@ -1,20 +1,36 @@
 package com.nadia.pos.utils;
 
 import com.nadia.pos.POSApplication;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
 public class SceneManager {
     private final Stage primaryStage;
     private final Map<String, Scene> scenes = new HashMap<>();
+    private final Map<String, ViewDefinition> viewDefinitions = new LinkedHashMap<>();
     private final Map<String, Parent> views = new HashMap<>();
     private final Map<String, Object> controllers = new HashMap<>();
 
+    private static final class ViewDefinition {
+        private final String fxmlPath;
+        private final Supplier<Object> controllerFactory;
+
+        private ViewDefinition(String fxmlPath, Supplier<Object> controllerFactory) {
+            this.fxmlPath = fxmlPath;
+            this.controllerFactory = controllerFactory;
+        }
+    }
+
     public SceneManager(Stage primaryStage) {
         this.primaryStage = primaryStage;
     }
@@ -28,16 +44,67 @@ public class SceneManager {
         controllers.put(name, controller);
     }
 
-    public void loadView(String name, String fxmlPath, Object controller) throws IOException {
-        FXMLLoader loader = new FXMLLoader(POSApplication.class.getResource(fxmlPath));
+    /**
+     * Registers a view without building it. The controller is created and the FXML loaded the
+     * first time the view is requested, so startup only pays for the views actually opened.
+     */
+    public void registerView(String name, String fxmlPath, Supplier<Object> controllerFactory) {
+        viewDefinitions.put(name, new ViewDefinition(fxmlPath, controllerFactory));
+    }
+
+    /**
+     * Returns the named view, building it on first use, or null if no such view is registered.
+     */
+    public Parent getView(String name) throws IOException {
+        Parent view = views.get(name);
+        if (view != null) {
+            return view;
+        }
+        ViewDefinition definition = viewDefinitions.get(name);
+        if (definition == null) {
+            return null;
+        }
+
+        long start = System.nanoTime();
+        Object controller = definition.controllerFactory.get();
+        FXMLLoader loader = new FXMLLoader(POSApplication.class.getResource(definition.fxmlPath));
         loader.setController(controller);
-        Parent root = loader.load();
-        views.put(name, root);
+        view = loader.load();
+        views.put(name, view);
         controllers.put(name, controller);
+        System.out.println("[views] Built " + name + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return view;
     }
 
-    public Parent getView(String name) {
-        return views.get(name);
+    /**
+     * Builds the registered views that have not been opened yet, one per FX pulse so user input
+     * is still handled in between. Their data loads run in the background.
+     */
+    public void prefetchViews() {
+        Deque<String> pending = new ArrayDeque<>();
+        for (String name : viewDefinitions.keySet()) {
+            if (!views.containsKey(name)) {
+                pending.add(name);
+            }
+        }
+        prefetchNext(pending);
+    }
+
+    private void prefetchNext(Deque<String> pending) {
+        String name = pending.poll();
+        if (name == null) {
+            StartupTimer.mark("All views prefetched");
+            return;
+        }
+        Platform.runLater(() -> {
+            try {
+                getView(name);
+            } catch (IOException | RuntimeException e) {
+                // Leave it to be built, and the error reported, on first navigation
+                e.printStackTrace();
+            }
+            prefetchNext(pending);
+        });
     }
 
     public void switchScene(String name) {
@@ -50,4 +117,4 @@ public class SceneManager {
     public Object getController(String name) {
         return controllers.get(name);
     }
-}
\ No newline at end of file
+}
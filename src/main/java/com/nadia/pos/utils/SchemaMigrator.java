@@ -0,0 +1,109 @@
+package com.nadia.pos.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Brings the database schema up to date at startup by applying the SQL scripts under
+ * {@code /db/migration} that have not run yet. Applied versions are recorded in
+ * schema_migrations; each script runs in its own transaction, and an advisory lock keeps two
+ * terminals starting at the same time from applying the same script twice.
+ */
+public class SchemaMigrator {
+    private static final String LOCATION = "/db/migration/";
+    private static final long LOCK_KEY = 4_150_827_301L;
+
+    // Scripts are listed rather than discovered, since a module jar cannot be listed reliably.
+    // Append new versions; never edit or reorder one that has shipped.
+    private static final List<Migration> MIGRATIONS = List.of(
+            new Migration(1, "baseline_schema"),
+            new Migration(2, "sales_daily_summary"),
+            new Migration(3, "finder_indexes"),
+            new Migration(4, "customer_name_search"),
+            new Migration(5, "unique_keys"),
+            new Migration(6, "sales_summary_shards")
+    );
+
+    private record Migration(int version, String description) {
+        String resource() {
+            return LOCATION + "V" + version + "__" + description + ".sql";
+        }
+    }
+
+    private final Connection connection;
+
+    public SchemaMigrator(Connection connection) {
+        this.connection = connection;
+    }
+
+    public void migrate() throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS schema_migrations (" +
+                    "version INTEGER PRIMARY KEY, " +
+                    "description VARCHAR(200) NOT NULL, " +
+                    "applied_at TIMESTAMP NOT NULL DEFAULT NOW())");
+            stmt.execute("SELECT pg_advisory_lock(" + LOCK_KEY + ")");
+            try {
+                Set<Integer> applied = findAppliedVersions();
+                connection.setAutoCommit(false);
+                for (Migration migration : MIGRATIONS) {
+                    if (!applied.contains(migration.version())) {
+                        apply(migration);
+                    }
+                }
+            } finally {
+                connection.setAutoCommit(autoCommit);
+                stmt.execute("SELECT pg_advisory_unlock(" + LOCK_KEY + ")");
+            }
+        }
+    }
+
+    private Set<Integer> findAppliedVersions() throws SQLException {
+        Set<Integer> versions = new HashSet<>();
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version FROM schema_migrations")) {
+            while (rs.next()) {
+                versions.add(rs.getInt("version"));
+            }
+        }
+        return versions;
+    }
+
+    private void apply(Migration migration) throws SQLException {
+        String script = readScript(migration);
+        try (Statement stmt = connection.createStatement();
+             PreparedStatement record = connection.prepareStatement(
+                     "INSERT INTO schema_migrations (version, description) VALUES (?, ?)")) {
+            stmt.execute(script);
+            record.setInt(1, migration.version());
+            record.setString(2, migration.description());
+            record.executeUpdate();
+            connection.commit();
+            System.out.println("[migrations] Applied V" + migration.version() + " " + migration.description());
+        } catch (SQLException e) {
+            connection.rollback();
+            throw new SQLException("Migration V" + migration.version() + " failed: " + e.getMessage(), e);
+        }
+    }
+
+    private String readScript(Migration migration) {
+        try (InputStream in = SchemaMigrator.class.getResourceAsStream(migration.resource())) {
+            if (in == null) {
+                throw new IllegalStateException("Missing migration script " + migration.resource());
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading migration script " + migration.resource(), e);
+        }
+    }
+}
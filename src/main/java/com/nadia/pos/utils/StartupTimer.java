@@ -0,0 +1,27 @@
+package com.nadia.pos.utils;
+
+/**
+ * Logs how long each startup phase took, measured from application launch, so cold start and
+ * time-to-first-interaction can be tracked across releases.
+ */
+public final class StartupTimer {
+    private static volatile long startNanos;
+
+    private StartupTimer() {
+    }
+
+    public static synchronized void begin() {
+        if (startNanos == 0) {
+            startNanos = System.nanoTime();
+        }
+    }
+
+    public static long elapsedMillis() {
+        begin();
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    public static void mark(String phase) {
+        System.out.println("[startup] " + phase + " at " + elapsedMillis() + " ms");
+    }
+}
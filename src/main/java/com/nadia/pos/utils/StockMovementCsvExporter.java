@@ -0,0 +1,82 @@
+package com.nadia.pos.utils;
+
+import com.nadia.pos.model.StockMovement;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes stock movements to a CSV file one row at a time, so it can be fed straight from a
+ * streaming read and the export never holds more than one movement.
+ */
+public class StockMovementCsvExporter implements Closeable {
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final String HEADER = "Date,Type,Product,Quantity,Previous Stock,New Stock,Unit Cost," +
+            "Reference,Reason,Processed By,Notes";
+
+    private final BufferedWriter writer;
+    private long rowCount;
+
+    public StockMovementCsvExporter(Path path) throws IOException {
+        this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+        writer.write(HEADER);
+        writer.newLine();
+    }
+
+    /**
+     * Appends one movement. Write errors are rethrown unchecked so this can be used as the
+     * consumer of a streaming read.
+     */
+    public void write(StockMovement movement, String productName, String processedByName) {
+        String[] fields = {
+                movement.getCreatedAt() != null ? DATE_FORMATTER.format(movement.getCreatedAt()) : "",
+                String.valueOf(movement.getType()),
+                productName,
+                String.valueOf(movement.getQuantity()),
+                String.valueOf(movement.getPreviousStock()),
+                String.valueOf(movement.getNewStock()),
+                movement.getUnitCost() != null ? movement.getUnitCost().toPlainString() : "",
+                movement.getReferenceNumber(),
+                movement.getReason(),
+                processedByName,
+                movement.getNotes()
+        };
+        try {
+            for (int i = 0; i < fields.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escape(fields[i]));
+            }
+            writer.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        rowCount++;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,146 @@
+package com.nadia.pos.utils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+public class TransactionManager {
+    private static final ThreadLocal<Connection> currentConnection = new ThreadLocal<>();
+
+    @FunctionalInterface
+    public interface TransactionCallback<T, E extends Exception> {
+        T doInTransaction() throws E;
+    }
+
+    @FunctionalInterface
+    public interface TransactionRunnable<E extends Exception> {
+        void run() throws E;
+    }
+
+    private TransactionManager() {
+    }
+
+    /**
+     * Runs the callback as one unit of work: every DAO call made on this thread while it runs
+     * shares a single connection and is committed once at the end, or rolled back if the
+     * callback throws. Nested calls join the outer transaction.
+     */
+    public static <T, E extends Exception> T execute(TransactionCallback<T, E> callback) throws E {
+        if (currentConnection.get() != null) {
+            return callback.doInTransaction();
+        }
+
+        Connection connection;
+        try {
+            connection = DatabaseUtil.getConnection();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error starting transaction", e);
+        }
+        try {
+            connection.setAutoCommit(false);
+        } catch (SQLException e) {
+            try {
+                DatabaseUtil.closeConnection(connection);
+            } catch (RuntimeException closeFailure) {
+                e.addSuppressed(closeFailure);
+            }
+            throw new RuntimeException("Error starting transaction", e);
+        }
+
+        currentConnection.set(connection);
+        Throwable failure = null;
+        try {
+            T result;
+            try {
+                result = callback.doInTransaction();
+            } catch (Throwable e) {
+                failure = e;
+                rollback(connection, e);
+                throw e;
+            }
+
+            try {
+                connection.commit();
+            } catch (SQLException e) {
+                RuntimeException commitFailure = new RuntimeException("Error committing transaction", e);
+                failure = commitFailure;
+                rollback(connection, commitFailure);
+                throw commitFailure;
+            }
+            return result;
+        } finally {
+            currentConnection.remove();
+            release(connection, failure);
+        }
+    }
+
+    public static <E extends Exception> void run(TransactionRunnable<E> runnable) throws E {
+        TransactionManager.<Void, E>execute(() -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    public static boolean isActive() {
+        return currentConnection.get() != null;
+    }
+
+    /**
+     * Returns the connection bound to the current transaction, or a fresh pooled connection
+     * when no transaction is active. Callers always close what they get: closing the
+     * transaction-bound connection is a no-op so the unit of work stays open.
+     */
+    public static Connection getConnection() throws SQLException {
+        Connection connection = currentConnection.get();
+        if (connection == null) {
+            return DatabaseUtil.getConnection();
+        }
+        return nonClosing(connection);
+    }
+
+    private static Connection nonClosing(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            return null;
+                        case "isClosed":
+                            return connection.isClosed();
+                        default:
+                            try {
+                                return method.invoke(connection, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                    }
+                });
+    }
+
+    private static void rollback(Connection connection, Throwable failure) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Returns the connection to the pool. Errors are attached to the failure being rethrown; after
+     * a successful commit there is none, and the pool resets auto-commit itself.
+     */
+    private static void release(Connection connection, Throwable failure) {
+        try {
+            connection.setAutoCommit(true);
+        } catch (SQLException e) {
+            if (failure != null) {
+                failure.addSuppressed(e);
+            } else {
+                System.err.println("Error resetting auto-commit after commit: " + e.getMessage());
+            }
+        }
+        DatabaseUtil.closeConnection(connection);
+    }
+}
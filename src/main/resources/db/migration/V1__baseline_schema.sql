@@ -0,0 +1,206 @@
+-- Tables as the DAOs read and write them. IF NOT EXISTS keeps this a no-op on databases
+-- created before migrations were tracked.
+
+CREATE TABLE IF NOT EXISTS employees (
+    id BIGSERIAL PRIMARY KEY,
+    employee_id VARCHAR(50) NOT NULL UNIQUE,
+    first_name VARCHAR(100) NOT NULL,
+    last_name VARCHAR(100) NOT NULL,
+    email VARCHAR(255),
+    phone VARCHAR(50),
+    address TEXT,
+    date_of_birth DATE,
+    hire_date DATE,
+    department VARCHAR(100),
+    position VARCHAR(100),
+    status VARCHAR(20) NOT NULL,
+    username VARCHAR(100) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE TABLE IF NOT EXISTS customers (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    code VARCHAR(50),
+    phone VARCHAR(50),
+    email VARCHAR(255),
+    address TEXT,
+    type VARCHAR(20) NOT NULL,
+    credit_limit NUMERIC(12, 2) NOT NULL DEFAULT 0,
+    current_credit NUMERIC(12, 2) NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE TABLE IF NOT EXISTS suppliers (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    code VARCHAR(50),
+    contact_person VARCHAR(255),
+    phone VARCHAR(50),
+    email VARCHAR(255),
+    address TEXT,
+    tax_id VARCHAR(50),
+    bank_account VARCHAR(100),
+    notes TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE TABLE IF NOT EXISTS products (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    code VARCHAR(50),
+    description TEXT,
+    price NUMERIC(12, 2) NOT NULL,
+    cost_price NUMERIC(12, 2),
+    category VARCHAR(100),
+    unit VARCHAR(20),
+    minimum_stock INTEGER NOT NULL DEFAULT 0,
+    barcode VARCHAR(100),
+    image BYTEA,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE TABLE IF NOT EXISTS inventory (
+    id BIGSERIAL PRIMARY KEY,
+    product_id BIGINT NOT NULL REFERENCES products (id),
+    quantity INTEGER NOT NULL DEFAULT 0,
+    minimum_stock INTEGER NOT NULL DEFAULT 0,
+    maximum_stock INTEGER,
+    location VARCHAR(100),
+    bin_number VARCHAR(50),
+    last_restock_date TIMESTAMP,
+    last_stock_check_date TIMESTAMP,
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE TABLE IF NOT EXISTS stock_movements (
+    id BIGSERIAL PRIMARY KEY,
+    product_id BIGINT NOT NULL REFERENCES products (id),
+    movement_type VARCHAR(20) NOT NULL,
+    quantity INTEGER NOT NULL,
+    reference_number VARCHAR(100),
+    reason TEXT,
+    unit_cost NUMERIC(12, 2),
+    processed_by_id BIGINT REFERENCES employees (id),
+    notes TEXT,
+    previous_stock INTEGER,
+    new_stock INTEGER,
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE TABLE IF NOT EXISTS orders (
+    id BIGSERIAL PRIMARY KEY,
+    order_number VARCHAR(50) NOT NULL,
+    order_date TIMESTAMP NOT NULL,
+    total_amount NUMERIC(12, 2) NOT NULL DEFAULT 0,
+    tax NUMERIC(12, 2) NOT NULL DEFAULT 0,
+    discount NUMERIC(12, 2) NOT NULL DEFAULT 0,
+    notes TEXT,
+    status VARCHAR(20) NOT NULL,
+    created_by BIGINT REFERENCES employees (id),
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE TABLE IF NOT EXISTS order_items (
+    id BIGSERIAL PRIMARY KEY,
+    order_id BIGINT REFERENCES orders (id) ON DELETE CASCADE,
+    product_id BIGINT NOT NULL REFERENCES products (id),
+    quantity INTEGER NOT NULL,
+    unit_price NUMERIC(12, 2) NOT NULL,
+    discount NUMERIC(12, 2) NOT NULL DEFAULT 0,
+    subtotal NUMERIC(12, 2),
+    notes TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE TABLE IF NOT EXISTS sales_orders (
+    id BIGSERIAL PRIMARY KEY,
+    customer_id BIGINT REFERENCES customers (id),
+    order_number VARCHAR(50) NOT NULL,
+    order_date TIMESTAMP NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    delivery_address TEXT,
+    delivery_date TIMESTAMP,
+    total_amount NUMERIC(12, 2) NOT NULL DEFAULT 0,
+    tax NUMERIC(12, 2) NOT NULL DEFAULT 0,
+    discount NUMERIC(12, 2) NOT NULL DEFAULT 0,
+    status VARCHAR(20) NOT NULL,
+    notes TEXT,
+    created_by BIGINT REFERENCES employees (id),
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE TABLE IF NOT EXISTS sales_order_items (
+    id BIGSERIAL PRIMARY KEY,
+    sales_order_id BIGINT NOT NULL REFERENCES sales_orders (id) ON DELETE CASCADE,
+    product_id BIGINT NOT NULL REFERENCES products (id),
+    quantity INTEGER NOT NULL,
+    unit_price NUMERIC(12, 2) NOT NULL,
+    discount NUMERIC(12, 2) NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE TABLE IF NOT EXISTS purchase_orders (
+    id BIGSERIAL PRIMARY KEY,
+    supplier_id BIGINT NOT NULL REFERENCES suppliers (id),
+    expected_delivery_date TIMESTAMP,
+    shipping_terms TEXT,
+    payment_terms TEXT,
+    status VARCHAR(20) NOT NULL,
+    total_amount NUMERIC(12, 2) NOT NULL DEFAULT 0,
+    tax NUMERIC(12, 2) NOT NULL DEFAULT 0,
+    discount NUMERIC(12, 2) NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE TABLE IF NOT EXISTS purchase_order_items (
+    id BIGSERIAL PRIMARY KEY,
+    purchase_order_id BIGINT NOT NULL REFERENCES purchase_orders (id) ON DELETE CASCADE,
+    product_id BIGINT NOT NULL REFERENCES products (id),
+    quantity INTEGER NOT NULL,
+    unit_price NUMERIC(12, 2) NOT NULL,
+    discount NUMERIC(12, 2) NOT NULL DEFAULT 0,
+    received BOOLEAN NOT NULL DEFAULT FALSE,
+    received_quantity INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+-- Cash and card payments inherit from payments, so the shared PaymentDAOImpl finders that
+-- query payments see both kinds
+CREATE TABLE IF NOT EXISTS payments (
+    id BIGSERIAL PRIMARY KEY,
+    reference_number VARCHAR(100),
+    amount NUMERIC(12, 2) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    employee_id BIGINT REFERENCES employees (id),
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE TABLE IF NOT EXISTS cash_payments (
+    change_amount NUMERIC(12, 2),
+    received_amount NUMERIC(12, 2),
+    PRIMARY KEY (id)
+) INHERITS (payments);
+
+CREATE TABLE IF NOT EXISTS card_payments (
+    card_type VARCHAR(50),
+    last_four_digits VARCHAR(4),
+    authorization_code VARCHAR(100),
+    PRIMARY KEY (id)
+) INHERITS (payments);
@@ -0,0 +1,17 @@
+-- Daily sales rollup maintained by SalesOrderServiceImpl, backfilled from existing orders when
+-- first created
+DO $$
+BEGIN
+    IF to_regclass('sales_daily_summary') IS NULL THEN
+        CREATE TABLE sales_daily_summary (
+            sale_date DATE PRIMARY KEY,
+            order_count INTEGER NOT NULL DEFAULT 0,
+            total_amount NUMERIC NOT NULL DEFAULT 0
+        );
+        INSERT INTO sales_daily_summary (sale_date, order_count, total_amount)
+        SELECT order_date::date, COUNT(*), COALESCE(SUM(total_amount), 0)
+        FROM sales_orders
+        GROUP BY order_date::date;
+    END IF;
+END
+$$;
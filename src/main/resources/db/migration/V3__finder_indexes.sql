@@ -0,0 +1,52 @@
+-- One index per DAO finder, so lookups by these columns are index scans instead of full table
+-- scans once the tables grow.
+
+-- The unique keys on inventory.product_id and customers code/phone/email live in
+-- V5__unique_keys.sql.
+
+CREATE INDEX IF NOT EXISTS idx_products_code ON products (code);
+CREATE INDEX IF NOT EXISTS idx_products_barcode ON products (barcode);
+CREATE INDEX IF NOT EXISTS idx_products_category ON products (category);
+
+CREATE INDEX IF NOT EXISTS idx_employees_email ON employees (email);
+CREATE INDEX IF NOT EXISTS idx_employees_department ON employees (department);
+
+CREATE INDEX IF NOT EXISTS idx_suppliers_code ON suppliers (code);
+CREATE INDEX IF NOT EXISTS idx_suppliers_phone ON suppliers (phone);
+CREATE INDEX IF NOT EXISTS idx_suppliers_email ON suppliers (email);
+
+-- Only rows at or below their reorder level are indexed, so the low-stock report reads a
+-- handful of entries however large the inventory is
+CREATE INDEX IF NOT EXISTS idx_inventory_low_stock ON inventory (product_id)
+    WHERE quantity <= minimum_stock AND is_active;
+
+CREATE INDEX IF NOT EXISTS idx_stock_movements_product_created
+    ON stock_movements (product_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_stock_movements_reference ON stock_movements (reference_number);
+
+CREATE INDEX IF NOT EXISTS idx_sales_orders_customer ON sales_orders (customer_id);
+CREATE INDEX IF NOT EXISTS idx_sales_orders_order_date ON sales_orders (order_date);
+CREATE INDEX IF NOT EXISTS idx_sales_orders_created_at ON sales_orders (created_at);
+CREATE INDEX IF NOT EXISTS idx_sales_orders_status ON sales_orders (status);
+CREATE INDEX IF NOT EXISTS idx_sales_order_items_order ON sales_order_items (sales_order_id);
+CREATE INDEX IF NOT EXISTS idx_sales_order_items_product ON sales_order_items (product_id);
+
+CREATE INDEX IF NOT EXISTS idx_orders_order_number ON orders (order_number);
+CREATE INDEX IF NOT EXISTS idx_orders_order_date ON orders (order_date);
+CREATE INDEX IF NOT EXISTS idx_orders_status ON orders (status);
+CREATE INDEX IF NOT EXISTS idx_orders_created_by ON orders (created_by);
+CREATE INDEX IF NOT EXISTS idx_order_items_order ON order_items (order_id);
+CREATE INDEX IF NOT EXISTS idx_order_items_product ON order_items (product_id);
+
+CREATE INDEX IF NOT EXISTS idx_purchase_orders_supplier ON purchase_orders (supplier_id);
+CREATE INDEX IF NOT EXISTS idx_purchase_orders_status ON purchase_orders (status);
+CREATE INDEX IF NOT EXISTS idx_purchase_order_items_order ON purchase_order_items (purchase_order_id);
+
+-- Indexes are not inherited, so each payment table gets its own
+CREATE INDEX IF NOT EXISTS idx_cash_payments_reference ON cash_payments (reference_number);
+CREATE INDEX IF NOT EXISTS idx_cash_payments_employee ON cash_payments (employee_id);
+CREATE INDEX IF NOT EXISTS idx_cash_payments_created_at ON cash_payments (created_at);
+CREATE INDEX IF NOT EXISTS idx_card_payments_reference ON card_payments (reference_number);
+CREATE INDEX IF NOT EXISTS idx_card_payments_employee ON card_payments (employee_id);
+CREATE INDEX IF NOT EXISTS idx_card_payments_created_at ON card_payments (created_at);
+CREATE INDEX IF NOT EXISTS idx_card_payments_authorization ON card_payments (authorization_code);
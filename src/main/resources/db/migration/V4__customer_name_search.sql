@@ -0,0 +1,14 @@
+-- Trigram GIN index so the LIKE '%term%' customer name search is an index lookup. Needs the
+-- pg_trgm extension; without the privilege to create it search still works, just unindexed.
+DO $$
+BEGIN
+    BEGIN
+        CREATE EXTENSION IF NOT EXISTS pg_trgm;
+    EXCEPTION WHEN insufficient_privilege THEN
+        RAISE NOTICE 'pg_trgm not available, customer name search stays unindexed';
+    END;
+    IF EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm') THEN
+        CREATE INDEX IF NOT EXISTS idx_customers_name_trgm ON customers USING gin (name gin_trgm_ops);
+    END IF;
+END
+$$;
@@ -0,0 +1,41 @@
+-- Unique keys the insert-on-conflict saves depend on: InventoryServiceImpl.createInventory inserts
+-- with ON CONFLICT (product_id), which fails outright without a unique index to infer, and
+-- CustomerServiceImpl.createCustomer uses ON CONFLICT DO NOTHING, which would otherwise insert
+-- duplicate customers without complaint.
+
+-- Existing duplicates would make the index builds fail with a bare "could not create unique
+-- index" error and keep the application from starting. Report every offending row instead; the
+-- migration rolls back, so once the rows are merged or corrected a restart applies it cleanly.
+DO $$
+DECLARE
+    duplicates TEXT;
+BEGIN
+    SELECT string_agg(format('%s.%s = %L (ids %s)', table_name, column_name, value, ids), E'\n')
+    INTO duplicates
+    FROM (
+        SELECT 'inventory' AS table_name, 'product_id' AS column_name, product_id::TEXT AS value,
+               string_agg(id::TEXT, ', ' ORDER BY id) AS ids
+        FROM inventory GROUP BY product_id HAVING count(*) > 1
+        UNION ALL
+        SELECT 'customers', 'code', code, string_agg(id::TEXT, ', ' ORDER BY id)
+        FROM customers WHERE code IS NOT NULL GROUP BY code HAVING count(*) > 1
+        UNION ALL
+        SELECT 'customers', 'phone', phone, string_agg(id::TEXT, ', ' ORDER BY id)
+        FROM customers WHERE phone IS NOT NULL GROUP BY phone HAVING count(*) > 1
+        UNION ALL
+        SELECT 'customers', 'email', email, string_agg(id::TEXT, ', ' ORDER BY id)
+        FROM customers WHERE email IS NOT NULL GROUP BY email HAVING count(*) > 1
+    ) AS duplicate_keys;
+
+    IF duplicates IS NOT NULL THEN
+        RAISE EXCEPTION 'Cannot add unique keys: duplicate inventory or customer rows exist'
+            USING DETAIL = duplicates,
+                  HINT = 'Merge or correct the listed rows, then restart the application to retry.';
+    END IF;
+END
+$$;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_inventory_product ON inventory (product_id);
+CREATE UNIQUE INDEX IF NOT EXISTS uq_customers_code ON customers (code);
+CREATE UNIQUE INDEX IF NOT EXISTS uq_customers_phone ON customers (phone);
+CREATE UNIQUE INDEX IF NOT EXISTS uq_customers_email ON customers (email);
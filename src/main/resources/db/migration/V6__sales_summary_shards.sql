@@ -0,0 +1,8 @@
+-- Every checkout incremented the same sales_daily_summary row for the day inside its own
+-- transaction, so concurrent checkouts queued on that row's lock until each committed. A day is
+-- now spread over several shard rows; SalesSummaryDAOImpl adds to a random one and the reports
+-- already sum whatever rows a day has. Existing rows become shard 0.
+
+ALTER TABLE sales_daily_summary ADD COLUMN IF NOT EXISTS shard SMALLINT NOT NULL DEFAULT 0;
+ALTER TABLE sales_daily_summary DROP CONSTRAINT IF EXISTS sales_daily_summary_pkey;
+ALTER TABLE sales_daily_summary ADD PRIMARY KEY (sale_date, shard);
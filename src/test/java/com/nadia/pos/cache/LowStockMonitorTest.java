@@ -0,0 +1,84 @@
+package com.nadia.pos.cache;
+
+import com.nadia.pos.dao.impl.InventoryDAOImpl;
+import com.nadia.pos.dao.impl.ProductDAOImpl;
+import com.nadia.pos.model.Inventory;
+import com.nadia.pos.model.LowStockEvent;
+import com.nadia.pos.model.Product;
+import com.nadia.pos.model.StockLevel;
+import com.nadia.pos.utils.TestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LowStockMonitorTest {
+    private ProductDAOImpl productDAO;
+    private InventoryDAOImpl inventoryDAO;
+    private LowStockMonitor monitor;
+    private Product product;
+    private Inventory inventory;
+
+    @BeforeEach
+    void createInventory() throws SQLException {
+        TestDatabase.assumeAvailable();
+        productDAO = new ProductDAOImpl();
+        inventoryDAO = new InventoryDAOImpl();
+        product = productDAO.save(TestDatabase.newProduct("LOW"));
+        inventory = new Inventory();
+        inventory.setProduct(product);
+        inventory.setQuantity(10);
+        inventory.setMinimumStock(5);
+        inventory.setMaximumStock(100);
+        inventory.setUpdatedAt(LocalDateTime.now());
+        inventoryDAO.save(inventory);
+        monitor = new LowStockMonitor(inventoryDAO);
+        monitor.load();
+    }
+
+    @AfterEach
+    void deleteInventory() {
+        if (inventory != null && inventory.getId() != null) {
+            inventoryDAO.deleteById(inventory.getId());
+        }
+        if (product != null && product.getId() != null) {
+            productDAO.deleteById(product.getId());
+        }
+    }
+
+    @Test
+    void picksUpAStockChangeMadeElsewhere() {
+        List<LowStockEvent> events = new ArrayList<>();
+        monitor.subscribe(events::add);
+
+        inventoryDAO.adjustQuantity(product.getId(), -7, false);
+        assertFalse(monitor.isLow(product.getId()));
+
+        monitor.inventoryChanged(inventory.getId());
+        assertTrue(monitor.isLow(product.getId()));
+        assertEquals(1, events.size());
+        assertEquals(3, events.get(0).getQuantity());
+    }
+
+    @Test
+    void notifiesEverySubscriberBeforeRethrowingAFailure() {
+        List<LowStockEvent> events = new ArrayList<>();
+        monitor.subscribe(event -> {
+            throw new IllegalStateException("broken subscriber");
+        });
+        monitor.subscribe(events::add);
+
+        assertThrows(RuntimeException.class,
+                () -> monitor.stockChanged(10, new StockLevel(product.getId(), 3, 5, true)));
+        assertEquals(1, events.size());
+    }
+}
@@ -0,0 +1,48 @@
+package com.nadia.pos.cache;
+
+import com.nadia.pos.dao.impl.ProductDAOImpl;
+import com.nadia.pos.model.Product;
+import com.nadia.pos.utils.TestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+class ProductCatalogCacheTest {
+    private ProductDAOImpl productDAO;
+    private ProductCatalogCache cache;
+    private Product product;
+
+    @BeforeEach
+    void createProduct() throws SQLException {
+        TestDatabase.assumeAvailable();
+        productDAO = new ProductDAOImpl();
+        cache = new ProductCatalogCache(productDAO);
+        product = TestDatabase.newProduct("CACHE");
+        cache.put(productDAO.save(product));
+    }
+
+    @AfterEach
+    void deleteProduct() {
+        if (product != null && product.getId() != null) {
+            productDAO.deleteById(product.getId());
+        }
+    }
+
+    @Test
+    void changesToAReturnedProductDoNotReachTheCache() {
+        String name = product.getName();
+        product.setName("Changed after put");
+
+        Product first = cache.findById(product.getId()).orElseThrow();
+        first.setName("Changed after lookup");
+        Product second = cache.findByCode(product.getCode()).orElseThrow();
+
+        assertNotSame(first, second);
+        assertEquals(name, second.getName());
+    }
+}
@@ -0,0 +1,68 @@
+package com.nadia.pos.dao.impl;
+
+import com.nadia.pos.model.Inventory;
+import com.nadia.pos.model.Product;
+import com.nadia.pos.model.StockLevel;
+import com.nadia.pos.utils.TestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InventoryDAOImplTest {
+    private ProductDAOImpl productDAO;
+    private InventoryDAOImpl inventoryDAO;
+    private Product product;
+
+    @BeforeEach
+    void createProduct() throws SQLException {
+        TestDatabase.assumeAvailable();
+        productDAO = new ProductDAOImpl();
+        inventoryDAO = new InventoryDAOImpl();
+        product = TestDatabase.newProduct("INV");
+        productDAO.save(product);
+    }
+
+    @AfterEach
+    void deleteProduct() throws SQLException {
+        if (product != null && product.getId() != null) {
+            Inventory inventory = inventoryDAO.findByProduct(product.getId());
+            if (inventory != null) {
+                inventoryDAO.delete(inventory);
+            }
+            productDAO.deleteById(product.getId());
+        }
+    }
+
+    @Test
+    void insertIfAbsentRejectsASecondRowForTheSameProduct() {
+        assertTrue(inventoryDAO.insertIfAbsent(newInventory(10), "product_id").isPresent());
+        assertTrue(inventoryDAO.insertIfAbsent(newInventory(20), "product_id").isEmpty());
+    }
+
+    @Test
+    void applyStockCheckRefusesADifferenceThatWouldGoBelowZero() {
+        Inventory inventory = inventoryDAO.insertIfAbsent(newInventory(10), "product_id").orElseThrow();
+
+        Map<Long, StockLevel> applied = inventoryDAO.applyStockCheck(Map.of(inventory.getId(), -11));
+
+        assertTrue(applied.isEmpty());
+        assertEquals(10, inventoryDAO.findById(inventory.getId()).orElseThrow().getQuantity());
+    }
+
+    private Inventory newInventory(int quantity) {
+        Inventory inventory = new Inventory();
+        inventory.setProduct(product);
+        inventory.setQuantity(quantity);
+        inventory.setMinimumStock(5);
+        inventory.setMaximumStock(100);
+        inventory.setUpdatedAt(LocalDateTime.now());
+        return inventory;
+    }
+}
@@ -0,0 +1,114 @@
+package com.nadia.pos.dao.impl;
+
+import com.nadia.pos.model.Product;
+import com.nadia.pos.utils.DatabaseUtil;
+import com.nadia.pos.utils.TestDatabase;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hammers one shared ProductDAOImpl from many threads. Each lookup borrows its own pooled
+ * connection, so the threads run on several connections at once instead of queueing on one.
+ */
+class ProductDAOImplConcurrencyTest {
+    private static final int LOOKUPS = 8_000;
+    private static final int ROUNDS = 3;
+
+    private static ProductDAOImpl productDAO;
+    private static Product product;
+
+    @BeforeAll
+    static void createProduct() throws SQLException {
+        TestDatabase.assumeAvailable();
+        productDAO = new ProductDAOImpl();
+        product = productDAO.save(TestDatabase.newProduct("CONC"));
+    }
+
+    @AfterAll
+    static void deleteProduct() {
+        if (product != null) {
+            productDAO.deleteById(product.getId());
+        }
+    }
+
+    @Test
+    void concurrentLookupsRunOnSeveralPooledConnections() throws Exception {
+        int threads = DatabaseUtil.getMaximumPoolSize();
+        // Warm up the pool and the statement cache
+        lookupsPerSecond(threads, new AtomicInteger());
+
+        // Best of a few alternating rounds, so a burst of background work (autovacuum, another
+        // test's threads) during one measurement does not decide the comparison
+        AtomicInteger peakActive = new AtomicInteger();
+        double single = 0;
+        double pooled = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            single = Math.max(single, lookupsPerSecond(1, new AtomicInteger()));
+            pooled = Math.max(pooled, lookupsPerSecond(threads, peakActive));
+        }
+        System.out.printf("findById: %.0f/s on 1 thread, %.0f/s on %d threads, %d connections in use at peak%n",
+                single, pooled, threads, peakActive.get());
+
+        assertTrue(peakActive.get() > 1, "Lookups never held more than one connection at a time");
+        // With a single connection per DAO the extra threads would only queue behind each other;
+        // how far throughput scales beyond that depends on the cores available to the database
+        assertTrue(pooled >= single * 0.9, "Throughput dropped when lookups ran in parallel");
+        if (Runtime.getRuntime().availableProcessors() >= 4) {
+            assertTrue(pooled >= single * 1.5, "Throughput did not scale with the pool");
+        }
+    }
+
+    private static double lookupsPerSecond(int threads, AtomicInteger peakActive) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread sampler = new Thread(() -> {
+            while (running.get()) {
+                peakActive.accumulateAndGet(DatabaseUtil.getActiveConnections(), Math::max);
+                LockSupport.parkNanos(100_000);
+            }
+        });
+        sampler.start();
+        try {
+            long start = System.nanoTime();
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    int found = 0;
+                    for (int i = 0; i < LOOKUPS / threads; i++) {
+                        if (productDAO.findById(product.getId()).isPresent()) {
+                            found++;
+                        }
+                    }
+                    return found;
+                }));
+            }
+            int found = 0;
+            for (Future<Integer> result : results) {
+                found += result.get();
+            }
+            long elapsed = System.nanoTime() - start;
+            assertEquals(LOOKUPS / threads * threads, found);
+            return found / (elapsed / 1e9);
+        } finally {
+            running.set(false);
+            sampler.join();
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+}
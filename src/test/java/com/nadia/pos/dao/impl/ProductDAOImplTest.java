@@ -0,0 +1,53 @@
+package com.nadia.pos.dao.impl;
+
+import com.nadia.pos.model.Product;
+import com.nadia.pos.utils.TestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ProductDAOImplTest {
+    private static final byte[] IMAGE = {1, 2, 3};
+
+    private ProductDAOImpl productDAO;
+    private Product product;
+
+    @BeforeEach
+    void createProduct() throws SQLException {
+        TestDatabase.assumeAvailable();
+        productDAO = new ProductDAOImpl();
+        product = TestDatabase.newProduct("IMG");
+        product.setImage(IMAGE);
+        productDAO.save(product);
+    }
+
+    @AfterEach
+    void deleteProduct() {
+        if (product != null && product.getId() != null) {
+            productDAO.deleteById(product.getId());
+        }
+    }
+
+    @Test
+    void updateKeepsTheImageOfAProductLoadedWithoutIt() {
+        Product loaded = productDAO.findById(product.getId()).orElseThrow();
+        loaded.setName("Renamed");
+        productDAO.update(loaded);
+
+        assertArrayEquals(IMAGE, productDAO.loadImage(product.getId()));
+    }
+
+    @Test
+    void updateClearsTheImageWhenItIsSetToNull() {
+        Product loaded = productDAO.findById(product.getId()).orElseThrow();
+        loaded.setImage(null);
+        productDAO.update(loaded);
+
+        assertNull(productDAO.loadImage(product.getId()));
+    }
+}
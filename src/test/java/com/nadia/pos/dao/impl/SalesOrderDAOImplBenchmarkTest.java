@@ -0,0 +1,154 @@
+package com.nadia.pos.dao.impl;
+
+import com.nadia.pos.cache.EntityCache;
+import com.nadia.pos.model.Customer;
+import com.nadia.pos.model.Employee;
+import com.nadia.pos.model.SalesOrder;
+import com.nadia.pos.service.impl.CustomerServiceImpl;
+import com.nadia.pos.service.impl.EmployeeServiceImpl;
+import com.nadia.pos.utils.DatabaseUtil;
+import com.nadia.pos.utils.TestDatabase;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares loading sales orders with one customer and one employee lookup per row, as the DAO
+ * used to, against the bulk reference loading. The dataset size defaults to 5,000 orders; run
+ * with -Dpos.benchmark.orders=50000 for the full-size comparison.
+ */
+class SalesOrderDAOImplBenchmarkTest {
+    private static final int ORDERS = Integer.getInteger("pos.benchmark.orders", 5_000);
+    private static final int CUSTOMERS = 500;
+    private static final int EMPLOYEES = 20;
+
+    private static final String MARKER = TestDatabase.uniqueCode("BENCH");
+    private static List<Long> orderIds;
+
+    @BeforeAll
+    static void seed() throws SQLException {
+        TestDatabase.assumeAvailable();
+        try (Connection connection = DatabaseUtil.getConnection()) {
+            execute(connection, "INSERT INTO employees (employee_id, first_name, last_name, hire_date, status, " +
+                    "username, password) SELECT ? || '-' || n, 'Bench', 'Employee ' || n, CURRENT_DATE, 'ACTIVE', " +
+                    "? || '-' || n, 'x' FROM generate_series(1, " + EMPLOYEES + ") AS n");
+            execute(connection, "INSERT INTO customers (name, code, type) " +
+                    "SELECT 'Bench customer ' || n, ? || '-' || n, 'RETAIL' " +
+                    "FROM generate_series(1, " + CUSTOMERS + ") AS n");
+            execute(connection, "INSERT INTO sales_orders (customer_id, order_number, order_date, type, " +
+                    "delivery_date, total_amount, status, created_by) " +
+                    "SELECT c.id, ? || '-' || n, NOW(), 'RETAIL', NOW(), 10, 'COMPLETED', e.id " +
+                    "FROM generate_series(1, " + ORDERS + ") AS n " +
+                    "JOIN customers c ON c.code = ? || '-' || (n % " + CUSTOMERS + " + 1) " +
+                    "JOIN employees e ON e.employee_id = ? || '-' || (n % " + EMPLOYEES + " + 1)");
+            orderIds = new ArrayList<>();
+            try (PreparedStatement stmt = connection.prepareStatement(
+                    "SELECT id FROM sales_orders WHERE order_number LIKE ? || '-%' ORDER BY id")) {
+                stmt.setString(1, MARKER);
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next()) {
+                    orderIds.add(rs.getLong(1));
+                }
+            }
+        }
+    }
+
+    @AfterAll
+    static void cleanUp() throws SQLException {
+        if (orderIds == null) {
+            return;
+        }
+        try (Connection connection = DatabaseUtil.getConnection()) {
+            execute(connection, "DELETE FROM sales_orders WHERE order_number LIKE ? || '-%'");
+            execute(connection, "DELETE FROM customers WHERE code LIKE ? || '-%'");
+            execute(connection, "DELETE FROM employees WHERE employee_id LIKE ? || '-%'");
+        }
+    }
+
+    @Test
+    void bulkReferenceLoadingBeatsPerRowLookups() throws SQLException {
+        assertEquals(ORDERS, orderIds.size());
+        CustomerDAOImpl customerDAO = new CustomerDAOImpl();
+        EmployeeDAOImpl employeeDAO = new EmployeeDAOImpl();
+
+        // Warm up both paths once before timing them
+        loadPerRow(customerDAO, employeeDAO, orderIds.subList(0, Math.min(200, ORDERS)));
+        loadInBulk(customerDAO, employeeDAO);
+
+        long start = System.nanoTime();
+        int perRowLookups = loadPerRow(customerDAO, employeeDAO, orderIds);
+        long perRow = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        List<SalesOrder> orders = loadInBulk(customerDAO, employeeDAO);
+        long bulk = System.nanoTime() - start;
+
+        System.out.printf("%d sales orders: %d ms with %d per-row lookups, %d ms with bulk references%n",
+                ORDERS, perRow / 1_000_000, perRowLookups, bulk / 1_000_000);
+
+        assertEquals(ORDERS, orders.size());
+        Map<Customer, Boolean> distinctCustomers = new IdentityHashMap<>();
+        for (SalesOrder order : orders) {
+            distinctCustomers.put(order.getCustomer(), true);
+        }
+        assertEquals(CUSTOMERS, distinctCustomers.size(), "Orders of the same customer should share one instance");
+        assertTrue(bulk * 5 < perRow, "Bulk loading should be at least five times faster than per-row lookups");
+    }
+
+    /**
+     * The old mapping: each row looked up its customer and employee by id.
+     */
+    private static int loadPerRow(CustomerDAOImpl customerDAO, EmployeeDAOImpl employeeDAO, List<Long> ids)
+            throws SQLException {
+        int lookups = 0;
+        try (Connection connection = DatabaseUtil.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(
+                     "SELECT customer_id, created_by FROM sales_orders WHERE id = ANY(?)")) {
+            stmt.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                customerDAO.findById(rs.getLong("customer_id")).orElseThrow();
+                employeeDAO.findById(rs.getLong("created_by")).orElseThrow();
+                lookups += 2;
+            }
+        }
+        return lookups;
+    }
+
+    private static List<SalesOrder> loadInBulk(CustomerDAOImpl customerDAO, EmployeeDAOImpl employeeDAO)
+            throws SQLException {
+        // Fresh caches so nothing is served from a previous run
+        EntityCache<Customer> customerCache = new EntityCache<>(customerDAO, CUSTOMERS, Duration.ofMinutes(1));
+        EntityCache<Employee> employeeCache = new EntityCache<>(employeeDAO, EMPLOYEES, Duration.ofMinutes(1));
+        SalesOrderDAOImpl salesOrderDAO = new SalesOrderDAOImpl(
+                new CustomerServiceImpl(customerDAO, customerCache),
+                new EmployeeServiceImpl(employeeDAO, employeeCache));
+        return salesOrderDAO.findByIds(orderIds);
+    }
+
+    /**
+     * Runs a seeding or clean-up statement whose every parameter is the run's marker.
+     */
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            int count = (int) sql.chars().filter(c -> c == '?').count();
+            for (int i = 1; i <= count; i++) {
+                stmt.setString(i, MARKER);
+            }
+            stmt.executeUpdate();
+        }
+    }
+}
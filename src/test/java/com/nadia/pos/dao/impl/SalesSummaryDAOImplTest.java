@@ -0,0 +1,77 @@
+package com.nadia.pos.dao.impl;
+
+import com.nadia.pos.model.SalesPeriodTotal;
+import com.nadia.pos.utils.DatabaseUtil;
+import com.nadia.pos.utils.TestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SalesSummaryDAOImplTest {
+    // Far enough back that no real sales share the month
+    private static final LocalDate SALE_DATE = LocalDate.of(1901, 1, 15);
+    private static final int ORDERS = 40;
+
+    private SalesSummaryDAOImpl salesSummaryDAO;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        TestDatabase.assumeAvailable();
+        salesSummaryDAO = new SalesSummaryDAOImpl();
+        deleteDay();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        if (salesSummaryDAO != null) {
+            deleteDay();
+        }
+    }
+
+    @Test
+    void monthlyTotalsSumEveryShardOfADay() throws SQLException {
+        for (int i = 0; i < ORDERS; i++) {
+            salesSummaryDAO.addToDay(SALE_DATE, i, 1, new BigDecimal("2.50"));
+        }
+
+        List<SalesPeriodTotal> totals = salesSummaryDAO.findMonthlyTotals(SALE_DATE.withDayOfMonth(1),
+                SALE_DATE.withDayOfMonth(1).plusMonths(1));
+
+        assertEquals(1, totals.size());
+        assertEquals(ORDERS, totals.get(0).getOrderCount());
+        assertEquals(0, new BigDecimal("100.00").compareTo(totals.get(0).getTotalAmount()));
+        assertTrue(countRows() > 1, "All increments landed on one row");
+    }
+
+    private int countRows() throws SQLException {
+        try (Connection connection = DatabaseUtil.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(
+                     "SELECT count(*) FROM sales_daily_summary WHERE sale_date = ?")) {
+            stmt.setDate(1, Date.valueOf(SALE_DATE));
+            ResultSet rs = stmt.executeQuery();
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private void deleteDay() throws SQLException {
+        try (Connection connection = DatabaseUtil.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(
+                     "DELETE FROM sales_daily_summary WHERE sale_date = ?")) {
+            stmt.setDate(1, Date.valueOf(SALE_DATE));
+            stmt.executeUpdate();
+        }
+    }
+}
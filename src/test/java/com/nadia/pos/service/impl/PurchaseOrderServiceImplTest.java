@@ -0,0 +1,139 @@
+package com.nadia.pos.service.impl;
+
+import com.nadia.pos.cache.EntityCache;
+import com.nadia.pos.cache.LowStockMonitor;
+import com.nadia.pos.dao.impl.EmployeeDAOImpl;
+import com.nadia.pos.dao.impl.InventoryDAOImpl;
+import com.nadia.pos.dao.impl.ProductDAOImpl;
+import com.nadia.pos.dao.impl.PurchaseOrderDAOImpl;
+import com.nadia.pos.dao.impl.PurchaseOrderItemDAOImpl;
+import com.nadia.pos.dao.impl.StockMovementDAOImpl;
+import com.nadia.pos.dao.impl.SupplierDAOImpl;
+import com.nadia.pos.enums.OrderStatus;
+import com.nadia.pos.model.Employee;
+import com.nadia.pos.model.Inventory;
+import com.nadia.pos.model.OrderItem;
+import com.nadia.pos.model.Product;
+import com.nadia.pos.model.PurchaseOrder;
+import com.nadia.pos.model.PurchaseOrderItem;
+import com.nadia.pos.model.StockMovement;
+import com.nadia.pos.model.Supplier;
+import com.nadia.pos.utils.DatabaseUtil;
+import com.nadia.pos.utils.TestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PurchaseOrderServiceImplTest {
+    private static final int INITIAL_STOCK = 2;
+
+    private ProductDAOImpl productDAO;
+    private InventoryDAOImpl inventoryDAO;
+    private EmployeeDAOImpl employeeDAO;
+    private SupplierDAOImpl supplierDAO;
+    private PurchaseOrderDAOImpl purchaseOrderDAO;
+    private PurchaseOrderServiceImpl purchaseOrderService;
+    private Product product;
+    private Inventory inventory;
+    private Employee employee;
+    private Supplier supplier;
+    private PurchaseOrder order;
+
+    @BeforeEach
+    void createInventory() throws SQLException {
+        TestDatabase.assumeAvailable();
+        productDAO = new ProductDAOImpl();
+        inventoryDAO = new InventoryDAOImpl();
+        employeeDAO = new EmployeeDAOImpl();
+        supplierDAO = new SupplierDAOImpl();
+        purchaseOrderDAO = new PurchaseOrderDAOImpl();
+        purchaseOrderService = new PurchaseOrderServiceImpl(purchaseOrderDAO, new PurchaseOrderItemDAOImpl(),
+                inventoryDAO, new StockMovementDAOImpl(), new EntityCache<>(employeeDAO, 10, Duration.ofMinutes(1)),
+                new LowStockMonitor(inventoryDAO));
+
+        product = productDAO.save(TestDatabase.newProduct("PO"));
+        employee = employeeDAO.save(TestDatabase.newEmployee("PO"));
+        supplier = new Supplier();
+        supplier.setName("Test supplier");
+        supplier.setCode(TestDatabase.uniqueCode("PO"));
+        supplier.setUpdatedAt(LocalDateTime.now());
+        supplier = supplierDAO.save(supplier);
+        inventory = new Inventory();
+        inventory.setProduct(product);
+        inventory.setQuantity(INITIAL_STOCK);
+        inventory.setMinimumStock(5);
+        inventory.setMaximumStock(0);
+        inventory.setUpdatedAt(LocalDateTime.now());
+        inventoryDAO.save(inventory);
+    }
+
+    @AfterEach
+    void cleanUp() throws SQLException {
+        if (product == null || product.getId() == null) {
+            return;
+        }
+        try (Connection connection = DatabaseUtil.getConnection();
+             PreparedStatement stmt = connection.prepareStatement("DELETE FROM stock_movements WHERE product_id = ?")) {
+            stmt.setLong(1, product.getId());
+            stmt.executeUpdate();
+        }
+        if (order != null && order.getId() != null) {
+            purchaseOrderDAO.deleteById(order.getId());
+        }
+        if (inventory.getId() != null) {
+            inventoryDAO.deleteById(inventory.getId());
+        }
+        productDAO.deleteById(product.getId());
+        if (supplier != null && supplier.getId() != null) {
+            supplierDAO.deleteById(supplier.getId());
+        }
+        if (employee != null && employee.getId() != null) {
+            employeeDAO.deleteById(employee.getId());
+        }
+    }
+
+    @Test
+    void createdOrderCanBeReceivedInFull() {
+        order = new PurchaseOrder();
+        order.setSupplier(supplier);
+        order.setExpectedDeliveryDate(LocalDateTime.now().plusDays(1));
+        order.getItems().add(line(5));
+        order.getItems().add(line(3));
+        purchaseOrderService.createPurchaseOrder(order);
+
+        List<OrderItem> saved = purchaseOrderService.findOrderItems(order.getId());
+        assertEquals(2, saved.size());
+        Map<Long, Integer> quantities = new HashMap<>();
+        for (OrderItem item : saved) {
+            assertEquals(order.getId(), ((PurchaseOrderItem) item).getPurchaseOrderId());
+            quantities.put(item.getId(), item.getQuantity());
+        }
+
+        List<StockMovement> movements = purchaseOrderService.receivePurchaseOrder(order.getId(), quantities,
+                employee.getId());
+
+        assertEquals(2, movements.size());
+        assertEquals(INITIAL_STOCK + 8, inventoryDAO.findById(inventory.getId()).orElseThrow().getQuantity());
+        assertEquals(OrderStatus.COMPLETED, purchaseOrderDAO.findById(order.getId()).orElseThrow().getStatus());
+    }
+
+    private PurchaseOrderItem line(int quantity) {
+        PurchaseOrderItem item = new PurchaseOrderItem();
+        item.setProduct(product);
+        item.setQuantity(quantity);
+        item.setUnitPrice(new BigDecimal("4.50"));
+        return item;
+    }
+}
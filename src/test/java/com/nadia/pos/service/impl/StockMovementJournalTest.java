@@ -0,0 +1,151 @@
+package com.nadia.pos.service.impl;
+
+import com.nadia.pos.cache.LowStockMonitor;
+import com.nadia.pos.dao.impl.EmployeeDAOImpl;
+import com.nadia.pos.dao.impl.InventoryDAOImpl;
+import com.nadia.pos.dao.impl.ProductDAOImpl;
+import com.nadia.pos.dao.impl.StockMovementDAOImpl;
+import com.nadia.pos.enums.StockMovementType;
+import com.nadia.pos.model.Employee;
+import com.nadia.pos.model.Inventory;
+import com.nadia.pos.model.Product;
+import com.nadia.pos.model.StockMovement;
+import com.nadia.pos.utils.DatabaseUtil;
+import com.nadia.pos.utils.TestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StockMovementJournalTest {
+    private static final int STOCK = 50;
+    private static final int THREADS = 8;
+    private static final int SALES_PER_THREAD = 10;
+
+    private ProductDAOImpl productDAO;
+    private InventoryDAOImpl inventoryDAO;
+    private EmployeeDAOImpl employeeDAO;
+    private StockMovementJournal journal;
+    private Product product;
+    private Inventory inventory;
+    private Employee employee;
+
+    @BeforeEach
+    void startJournal() throws SQLException {
+        TestDatabase.assumeAvailable();
+        productDAO = new ProductDAOImpl();
+        inventoryDAO = new InventoryDAOImpl();
+        employeeDAO = new EmployeeDAOImpl();
+        product = productDAO.save(TestDatabase.newProduct("JRN"));
+        employee = employeeDAO.save(TestDatabase.newEmployee("JRN"));
+        inventory = new Inventory();
+        inventory.setProduct(product);
+        inventory.setQuantity(STOCK);
+        inventory.setMinimumStock(5);
+        inventory.setMaximumStock(1000);
+        inventory.setUpdatedAt(LocalDateTime.now());
+        inventoryDAO.save(inventory);
+        journal = new StockMovementJournal(new StockMovementDAOImpl(), inventoryDAO, new LowStockMonitor(inventoryDAO));
+        journal.start();
+    }
+
+    @AfterEach
+    void cleanUp() throws SQLException {
+        if (journal != null) {
+            journal.stop();
+        }
+        if (product == null || product.getId() == null) {
+            return;
+        }
+        try (Connection connection = DatabaseUtil.getConnection();
+             PreparedStatement stmt = connection.prepareStatement("DELETE FROM stock_movements WHERE product_id = ?")) {
+            stmt.setLong(1, product.getId());
+            stmt.executeUpdate();
+        }
+        if (inventory.getId() != null) {
+            inventoryDAO.deleteById(inventory.getId());
+        }
+        productDAO.deleteById(product.getId());
+        if (employee != null && employee.getId() != null) {
+            employeeDAO.deleteById(employee.getId());
+        }
+    }
+
+    @Test
+    void concurrentSalesNeverTakeStockBelowZero() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<List<CompletableFuture<Optional<StockMovement>>>>> submitted = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            submitted.add(executor.submit(() -> {
+                List<CompletableFuture<Optional<StockMovement>>> acknowledgements = new ArrayList<>();
+                for (int i = 0; i < SALES_PER_THREAD; i++) {
+                    acknowledgements.add(journal.append(sale(employee), -1));
+                }
+                return acknowledgements;
+            }));
+        }
+        executor.shutdown();
+
+        int accepted = 0;
+        for (Future<List<CompletableFuture<Optional<StockMovement>>>> future : submitted) {
+            for (CompletableFuture<Optional<StockMovement>> acknowledgement : future.get(30, TimeUnit.SECONDS)) {
+                Optional<StockMovement> movement = acknowledgement.get(30, TimeUnit.SECONDS);
+                if (movement.isPresent()) {
+                    accepted++;
+                    assertTrue(movement.get().getNewStock() >= 0, "Recorded stock went below zero");
+                }
+            }
+        }
+        assertEquals(STOCK, accepted);
+        assertEquals(0, inventoryDAO.findById(inventory.getId()).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void aDatabaseErrorOnlyFailsItsOwnMovement() throws Exception {
+        Employee missing = new Employee();
+        missing.setId(-1L);
+        CompletableFuture<Optional<StockMovement>> first = journal.append(sale(employee), -1);
+        CompletableFuture<Optional<StockMovement>> broken = journal.append(sale(missing), -1);
+        CompletableFuture<Optional<StockMovement>> last = journal.append(sale(employee), -1);
+
+        assertTrue(first.get(30, TimeUnit.SECONDS).isPresent());
+        assertThrows(ExecutionException.class, () -> broken.get(30, TimeUnit.SECONDS));
+        assertTrue(last.get(30, TimeUnit.SECONDS).isPresent());
+        assertEquals(STOCK - 2, inventoryDAO.findById(inventory.getId()).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void appendAfterStopIsRefused() {
+        journal.stop();
+        assertThrows(IllegalStateException.class, () -> journal.append(sale(employee), -1));
+    }
+
+    private StockMovement sale(Employee processedBy) {
+        StockMovement movement = new StockMovement();
+        movement.setProduct(product);
+        movement.setType(StockMovementType.SALES_DEDUCT);
+        movement.setQuantity(1);
+        movement.setReferenceNumber(TestDatabase.uniqueCode("SALE"));
+        movement.setUnitCost(new BigDecimal("4.50"));
+        movement.setProcessedBy(processedBy);
+        return movement;
+    }
+}
@@ -0,0 +1,161 @@
+package com.nadia.pos.service.impl;
+
+import com.nadia.pos.cache.EntityCache;
+import com.nadia.pos.cache.LowStockMonitor;
+import com.nadia.pos.dao.impl.EmployeeDAOImpl;
+import com.nadia.pos.dao.impl.InventoryDAOImpl;
+import com.nadia.pos.dao.impl.ProductDAOImpl;
+import com.nadia.pos.dao.impl.StockMovementDAOImpl;
+import com.nadia.pos.enums.StockMovementType;
+import com.nadia.pos.exceptions.ValidationException;
+import com.nadia.pos.model.Employee;
+import com.nadia.pos.model.Inventory;
+import com.nadia.pos.model.Product;
+import com.nadia.pos.model.StockMovement;
+import com.nadia.pos.utils.DatabaseUtil;
+import com.nadia.pos.utils.TestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hammers recordMovement on one product from many threads, the way several tills selling the
+ * same item would, and checks that no update is lost and stock never goes below zero.
+ */
+class StockMovementServiceImplTest {
+    private static final int INITIAL_STOCK = 20;
+    private static final int THREADS = 16;
+    private static final int MOVEMENTS_PER_THREAD = 50;
+
+    private ProductDAOImpl productDAO;
+    private InventoryDAOImpl inventoryDAO;
+    private EmployeeDAOImpl employeeDAO;
+    private StockMovementServiceImpl stockMovementService;
+    private Product product;
+    private Inventory inventory;
+    private Employee employee;
+
+    @BeforeEach
+    void createInventory() throws SQLException {
+        TestDatabase.assumeAvailable();
+        productDAO = new ProductDAOImpl();
+        inventoryDAO = new InventoryDAOImpl();
+        employeeDAO = new EmployeeDAOImpl();
+        StockMovementDAOImpl stockMovementDAO = new StockMovementDAOImpl();
+        LowStockMonitor lowStockMonitor = new LowStockMonitor(inventoryDAO);
+        stockMovementService = new StockMovementServiceImpl(stockMovementDAO, inventoryDAO, productDAO,
+                new EntityCache<>(employeeDAO, 10, Duration.ofMinutes(1)),
+                new StockMovementJournal(stockMovementDAO, inventoryDAO, lowStockMonitor), lowStockMonitor);
+
+        product = productDAO.save(TestDatabase.newProduct("STRESS"));
+        employee = employeeDAO.save(TestDatabase.newEmployee("STRESS"));
+        inventory = new Inventory();
+        inventory.setProduct(product);
+        inventory.setQuantity(INITIAL_STOCK);
+        inventory.setMinimumStock(5);
+        inventory.setMaximumStock(0);
+        inventory.setUpdatedAt(LocalDateTime.now());
+        inventoryDAO.save(inventory);
+    }
+
+    @AfterEach
+    void cleanUp() throws SQLException {
+        if (product == null || product.getId() == null) {
+            return;
+        }
+        try (Connection connection = DatabaseUtil.getConnection();
+             PreparedStatement stmt = connection.prepareStatement("DELETE FROM stock_movements WHERE product_id = ?")) {
+            stmt.setLong(1, product.getId());
+            stmt.executeUpdate();
+        }
+        if (inventory.getId() != null) {
+            inventoryDAO.deleteById(inventory.getId());
+        }
+        productDAO.deleteById(product.getId());
+        if (employee != null && employee.getId() != null) {
+            employeeDAO.deleteById(employee.getId());
+        }
+    }
+
+    @Test
+    void concurrentMovementsLoseNoUpdatesAndNeverGoNegative() throws Exception {
+        AtomicInteger acceptedDelta = new AtomicInteger();
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch startLine = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Random random = new Random(t);
+            workers.add(executor.submit(() -> {
+                startLine.await();
+                for (int i = 0; i < MOVEMENTS_PER_THREAD; i++) {
+                    // Mostly single-item deductions, with a receipt now and then, so stock keeps hitting zero
+                    boolean receipt = random.nextInt(4) == 0;
+                    StockMovement movement = receipt ? movement(StockMovementType.RECEIPT, 3)
+                            : movement(StockMovementType.ADJUSTMENT, -1);
+                    try {
+                        StockMovement recorded = stockMovementService.recordMovement(movement);
+                        assertTrue(recorded.getNewStock() >= 0, "Recorded stock went below zero");
+                        acceptedDelta.addAndGet(recorded.getNewStock() - recorded.getPreviousStock());
+                        accepted.incrementAndGet();
+                    } catch (ValidationException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        startLine.countDown();
+        executor.shutdown();
+        for (Future<?> worker : workers) {
+            worker.get(2, TimeUnit.MINUTES);
+        }
+
+        int quantity = inventoryDAO.findById(inventory.getId()).orElseThrow().getQuantity();
+        assertEquals(INITIAL_STOCK + acceptedDelta.get(), quantity, "Lost stock updates");
+        assertEquals(THREADS * MOVEMENTS_PER_THREAD, accepted.get() + rejected.get());
+        assertTrue(rejected.get() > 0, "Stock never ran out, so the zero floor was not exercised");
+
+        try (Connection connection = DatabaseUtil.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(
+                     "SELECT count(*), min(new_stock) FROM stock_movements WHERE product_id = ?")) {
+            stmt.setLong(1, product.getId());
+            ResultSet rs = stmt.executeQuery();
+            rs.next();
+            assertEquals(accepted.get(), rs.getInt(1));
+            assertTrue(rs.getInt(2) >= 0, "A movement recorded stock below zero");
+        }
+    }
+
+    private StockMovement movement(StockMovementType type, int quantity) {
+        StockMovement movement = new StockMovement();
+        movement.setProduct(product);
+        movement.setType(type);
+        movement.setQuantity(quantity);
+        movement.setReferenceNumber(TestDatabase.uniqueCode("STRESS"));
+        movement.setUnitCost(new BigDecimal("4.50"));
+        movement.setProcessedBy(employee);
+        return movement;
+    }
+}
@@ -0,0 +1,63 @@
+package com.nadia.pos.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ChangeNotificationListenerTest {
+    private static final String TABLE = "listener_test";
+
+    private ChangeNotificationListener listener;
+
+    @BeforeEach
+    void startListener() {
+        TestDatabase.assumeAvailable();
+        listener = new ChangeNotificationListener();
+    }
+
+    @AfterEach
+    void stopListener() {
+        if (listener != null) {
+            listener.stop();
+        }
+    }
+
+    @Test
+    void malformedPayloadsAreSkippedWithoutStoppingTheListener() throws Exception {
+        BlockingQueue<Long> changes = new LinkedBlockingQueue<>();
+        BlockingQueue<Long> started = new LinkedBlockingQueue<>();
+        listener.subscribe(TABLE, changes::add, () -> {
+        });
+        listener.subscribe("listener_ready", started::add, () -> {
+        });
+        listener.start();
+
+        // LISTEN is issued asynchronously, so keep announcing until the listener hears one
+        while (started.poll(200, TimeUnit.MILLISECONDS) == null) {
+            notifyChange("listener_ready:1");
+        }
+        notifyChange(TABLE + ":not-a-number");
+        notifyChange("no separator");
+        notifyChange(TABLE + ":42");
+
+        assertEquals(42L, changes.poll(5, TimeUnit.SECONDS));
+    }
+
+    private void notifyChange(String payload) throws SQLException {
+        try (Connection connection = DatabaseUtil.getConnection();
+             PreparedStatement stmt = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            stmt.setString(1, ChangeNotificationListener.CHANNEL);
+            stmt.setString(2, payload);
+            stmt.executeQuery();
+        }
+    }
+}
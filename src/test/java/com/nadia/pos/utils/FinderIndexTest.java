@@ -0,0 +1,78 @@
+package com.nadia.pos.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the hot DAO finders are served by the indexes from the migrations. Sequential
+ * scans are disabled for the session, so the planner only falls back to one when no index
+ * fits; small test tables would otherwise make a seq scan the cheaper plan anyway.
+ */
+class FinderIndexTest {
+    private static final List<String> FINDERS = List.of(
+            "SELECT * FROM products WHERE code = 'X'",
+            "SELECT * FROM products WHERE barcode = 'X'",
+            "SELECT * FROM products WHERE category = 'X'",
+            "SELECT * FROM customers WHERE code = 'X'",
+            "SELECT * FROM customers WHERE phone = 'X'",
+            "SELECT * FROM customers WHERE email = 'X'",
+            "SELECT * FROM employees WHERE email = 'X'",
+            "SELECT * FROM inventory WHERE product_id = 1",
+            "SELECT * FROM inventory WHERE quantity <= minimum_stock AND is_active = true",
+            "SELECT * FROM stock_movements WHERE product_id = 1 " +
+                    "AND created_at BETWEEN '2026-01-01' AND '2026-02-01'",
+            "SELECT * FROM stock_movements WHERE reference_number = 'X'",
+            "SELECT * FROM sales_orders WHERE customer_id = 1",
+            "SELECT * FROM sales_orders WHERE created_at BETWEEN '2026-01-01' AND '2026-02-01'",
+            "SELECT * FROM sales_order_items WHERE sales_order_id = 1",
+            "SELECT * FROM orders WHERE order_number = 'X'",
+            "SELECT * FROM cash_payments WHERE reference_number = 'X'",
+            "SELECT * FROM card_payments WHERE authorization_code = 'X'"
+    );
+
+    @BeforeEach
+    void requireDatabase() {
+        TestDatabase.assumeAvailable();
+    }
+
+    @Test
+    void hotFindersUseAnIndex() throws SQLException {
+        List<String> sequentialScans = new ArrayList<>();
+        try (Connection connection = DatabaseUtil.getConnection();
+             Statement stmt = connection.createStatement()) {
+            connection.setAutoCommit(false);
+            try {
+                stmt.execute("SET LOCAL enable_seqscan = off");
+                for (String finder : FINDERS) {
+                    String plan = explain(stmt, finder);
+                    if (plan.contains("Seq Scan")) {
+                        sequentialScans.add(finder + "\n" + plan);
+                    }
+                }
+            } finally {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        }
+        assertTrue(sequentialScans.isEmpty(), "Finders without an index:\n" + String.join("\n", sequentialScans));
+    }
+
+    private String explain(Statement stmt, String query) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (ResultSet rs = stmt.executeQuery("EXPLAIN " + query)) {
+            while (rs.next()) {
+                plan.append(rs.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+}
@@ -0,0 +1,44 @@
+package com.nadia.pos.utils;
+
+import com.nadia.pos.enums.StockMovementType;
+import com.nadia.pos.model.StockMovement;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StockMovementCsvExporterTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void writesOneQuotedRowPerMovement() throws IOException {
+        StockMovement movement = new StockMovement();
+        movement.setType(StockMovementType.ADJUSTMENT);
+        movement.setQuantity(-3);
+        movement.setPreviousStock(10);
+        movement.setNewStock(7);
+        movement.setUnitCost(new BigDecimal("2.50"));
+        movement.setReferenceNumber("ADJ-1");
+        movement.setReason("Damaged, \"crushed\" box");
+        movement.setCreatedAt(LocalDateTime.of(2024, 3, 1, 9, 30));
+
+        Path file = directory.resolve("movements.csv");
+        try (StockMovementCsvExporter exporter = new StockMovementCsvExporter(file)) {
+            exporter.write(movement, "Milk 1L", "Jane Doe");
+            assertEquals(1, exporter.getRowCount());
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        assertEquals("2024-03-01 09:30:00,ADJUSTMENT,Milk 1L,-3,10,7,2.50,ADJ-1," +
+                "\"Damaged, \"\"crushed\"\" box\",Jane Doe,", lines.get(1));
+    }
+}
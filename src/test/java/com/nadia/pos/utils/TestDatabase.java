@@ -0,0 +1,70 @@
+package com.nadia.pos.utils;
+
+import com.nadia.pos.enums.EmployeeStatus;
+import com.nadia.pos.model.Employee;
+import com.nadia.pos.model.Product;
+import org.junit.jupiter.api.Assumptions;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Shared setup for tests that need PostgreSQL. They run against the database named by
+ * {@code pos.db.url} (see the surefire configuration) and are skipped when it cannot be reached.
+ */
+public final class TestDatabase {
+    private static Boolean available;
+
+    private TestDatabase() {
+    }
+
+    public static synchronized void assumeAvailable() {
+        if (available == null) {
+            // The first connection also runs the schema migrations
+            try (Connection connection = DatabaseUtil.getConnection()) {
+                available = true;
+            } catch (Throwable e) {
+                System.err.println("Skipping database tests: " + e);
+                available = false;
+            }
+        }
+        Assumptions.assumeTrue(available, "Test database is not reachable");
+    }
+
+    /**
+     * A unique code per call, so tests never collide with each other or with existing rows.
+     */
+    public static String uniqueCode(String prefix) {
+        return prefix + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    public static Product newProduct(String prefix) {
+        Product product = new Product();
+        product.setName("Test product " + prefix);
+        product.setCode(uniqueCode(prefix));
+        product.setPrice(new BigDecimal("9.99"));
+        product.setCostPrice(new BigDecimal("4.50"));
+        product.setCategory("Test");
+        product.setUnit("pcs");
+        product.setMinimumStock(5);
+        product.setUpdatedAt(LocalDateTime.now());
+        return product;
+    }
+
+    public static Employee newEmployee(String prefix) {
+        String code = uniqueCode(prefix);
+        Employee employee = new Employee();
+        employee.setEmployeeId(code);
+        employee.setFirstName("Test");
+        employee.setLastName("Employee " + prefix);
+        employee.setHireDate(LocalDate.now());
+        employee.setStatus(EmployeeStatus.ACTIVE);
+        employee.setUsername(code);
+        employee.setPassword("x");
+        employee.setUpdatedAt(LocalDateTime.now());
+        return employee;
+    }
+}